@@ -0,0 +1,122 @@
+package com.healthcare.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.DoctorAppApplication;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.search.DoctorSearchIndex;
+import com.healthcare.service.DoctorService;
+import com.healthcare.service.PatientService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application context started on the embedded H2 database (profile "jmh") and seeded with a fixed dataset:
+ * DOCTORS approved doctors spread over a handful of specialties and cities, PATIENTS patients, and
+ * APPOINTMENTS_PER_PATIENT appointments between the first patient and the first doctor, which are the
+ * accounts the login and appointment benchmarks use. Every account's password is PASSWORD.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+    public static final String PASSWORD = "Benchmark@123";
+    static final int DOCTORS = 2000;
+    static final int PATIENTS = 100;
+    static final int APPOINTMENTS_PER_PATIENT = 100;
+
+    public ConfigurableApplicationContext context;
+    public PatientService patientService;
+    public DoctorService doctorService;
+    public ObjectMapper objectMapper;
+    public Doctor doctor;
+    public Patient patient;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DoctorAppApplication.class)
+            .profiles("jmh")
+            .run();
+        patientService = context.getBean(PatientService.class);
+        doctorService = context.getBean(DoctorService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private void seed() {
+        // One hash for every account; BCrypt is deliberately slow and would dominate the setup otherwise
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<Doctor> doctors = new ArrayList<>(DOCTORS);
+        for (int i = 0; i < DOCTORS; i++) {
+            Doctor d = new Doctor();
+            d.setFullName("Dr. Benchmark " + i);
+            d.setEmail("doctor" + i + "@benchmark.test");
+            d.setMobile(String.format("9%09d", i));
+            d.setPassword(passwordHash);
+            d.setSpecialty(DoctorDirectoryState.SPECIALTIES[i % DoctorDirectoryState.SPECIALTIES.length]);
+            d.setCity(DoctorDirectoryState.CITIES[(i / DoctorDirectoryState.SPECIALTIES.length) % DoctorDirectoryState.CITIES.length]);
+            d.setState("State " + (i % 5));
+            d.setDegree("MBBS, MD");
+            d.setExperience(String.valueOf(5 + i % 25));
+            d.setClinicName("Clinic " + i);
+            d.setClinicAddress(i + " Main Road, " + d.getCity());
+            d.setLanguages("English,Hindi");
+            d.setAvailableDays("Mon,Tue,Wed,Thu,Fri");
+            d.setAvailableFrom("09:00");
+            d.setAvailableTo("17:00");
+            d.setConsultationFee(300.0 + 50 * (i % 10));
+            d.setApproved(true);
+            doctors.add(d);
+        }
+        doctors = context.getBean(DoctorRepository.class).saveAll(doctors);
+        doctor = doctors.get(0);
+
+        List<Patient> patients = new ArrayList<>(PATIENTS);
+        for (int i = 0; i < PATIENTS; i++) {
+            Patient p = new Patient();
+            p.setFullName("Benchmark Patient " + i);
+            p.setEmail("patient" + i + "@benchmark.test");
+            p.setMobile(String.format("8%09d", i));
+            p.setPassword(passwordHash);
+            p.setCity(DoctorDirectoryState.CITIES[i % DoctorDirectoryState.CITIES.length]);
+            patients.add(p);
+        }
+        patients = context.getBean(PatientRepository.class).saveAll(patients);
+        patient = patients.get(0);
+
+        String[] statuses = {"PENDING", "CONFIRMED", "COMPLETED", "CANCELLED"};
+        LocalDateTime start = LocalDateTime.now().withHour(9).withMinute(0).withSecond(0).withNano(0).minusDays(APPOINTMENTS_PER_PATIENT / 2);
+        List<Appointment> appointments = new ArrayList<>(APPOINTMENTS_PER_PATIENT);
+        for (int i = 0; i < APPOINTMENTS_PER_PATIENT; i++) {
+            Appointment a = new Appointment();
+            a.setPatientId(patient.getId());
+            a.setDoctorId(doctor.getId());
+            a.setAppointmentDatetime(start.plusDays(i));
+            a.setReason("Benchmark visit " + i);
+            a.setStatus(statuses[i % statuses.length]);
+            appointments.add(a);
+        }
+        context.getBean(AppointmentRepository.class).saveAll(appointments);
+
+        // The rows above bypass the services, so no change events reached the search index
+        context.getBean(DoctorSearchIndex.class).reload();
+    }
+}
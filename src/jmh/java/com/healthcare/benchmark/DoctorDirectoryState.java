@@ -0,0 +1,83 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.DoctorAppApplication;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.search.DoctorSearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application context on the embedded H2 database (profile "jmh") holding a doctor directory of the given
+ * size, for comparing the search paths as the table grows. Doctors are inserted with plain JDBC batches,
+ * since a million entities through JPA would take longer than the benchmark itself, and spread over a
+ * handful of specialties and cities.
+ */
+@State(Scope.Benchmark)
+public class DoctorDirectoryState {
+    static final String[] SPECIALTIES = {"Cardiology", "Dermatology", "Neurology", "Orthopedics", "Pediatrics", "Psychiatry", "General Medicine", "ENT"};
+    static final String[] CITIES = {"Mumbai", "Delhi", "Bengaluru", "Chennai", "Hyderabad", "Pune", "Kolkata", "Jaipur"};
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int doctors;
+
+    public ConfigurableApplicationContext context;
+    public DoctorRepository doctorRepository;
+    public DoctorSearchIndex doctorSearchIndex;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DoctorAppApplication.class)
+            .profiles("jmh")
+            .run();
+        doctorRepository = context.getBean(DoctorRepository.class);
+        doctorSearchIndex = context.getBean(DoctorSearchIndex.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private void seed() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String sql = "INSERT INTO doctors (full_name, email, mobile, password, role, specialty, city, state, clinic_name,"
+            + " clinic_address, consultation_fee, approved, suspended, status, rating_sum, review_count, created_at, updated_at)"
+            + " VALUES (?, ?, ?, 'x', 'DOCTOR', ?, ?, ?, ?, ?, ?, TRUE, FALSE, 'ACTIVE', 0, 0, ?, ?)";
+        for (int from = 0; from < doctors; from += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(doctors, from + BATCH_SIZE); i++) {
+                String city = CITIES[(i / SPECIALTIES.length) % CITIES.length];
+                batch.add(new Object[] {
+                    "Dr. Benchmark " + i,
+                    "doctor" + i + "@benchmark.test",
+                    String.format("9%09d", i),
+                    SPECIALTIES[i % SPECIALTIES.length],
+                    city,
+                    "State " + (i % 5),
+                    "Clinic " + i,
+                    i + " Main Road, " + city,
+                    300.0 + 50 * (i % 10),
+                    now,
+                    now
+                });
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        // Inserted behind the services' back, so the index has to be loaded from the table
+        doctorSearchIndex.reload();
+    }
+}
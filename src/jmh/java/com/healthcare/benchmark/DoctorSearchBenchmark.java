@@ -0,0 +1,72 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.dto.DoctorListingRow;
+import com.healthcare.model.Doctor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doctor search through DoctorSearchIndex against the JPQL LIKE query it replaced
+ * (findActiveDoctorsWithFilters), with the same filters and 10k, 100k and 1M doctors. The index path
+ * includes loading the listing columns of the matching rows by id in chunks, as PatientServiceImpl.listDoctors
+ * does; indexOnly is the id lookup alone.
+ *
+ * The filters: a name search ("benchmark 4242"), and specialty + city + name ("cardio", "mumbai",
+ * "benchmark 7"), both selective enough that the row loading does not swamp the lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DoctorSearchBenchmark {
+    // Same as PatientServiceImpl.ID_LOOKUP_CHUNK
+    private static final int ID_LOOKUP_CHUNK = 1000;
+
+    @Benchmark
+    public List<Long> nameIndexOnly(DoctorDirectoryState directory) {
+        return directory.doctorSearchIndex.search(null, null, "benchmark 4242", null, null, null);
+    }
+
+    @Benchmark
+    public List<DoctorListingRow> nameIndex(DoctorDirectoryState directory) {
+        return load(directory, directory.doctorSearchIndex.search(null, null, "benchmark 4242", null, null, null));
+    }
+
+    @Benchmark
+    public List<Doctor> nameJpql(DoctorDirectoryState directory) {
+        return directory.doctorRepository.findActiveDoctorsWithFilters(null, null, "benchmark 4242", null, null, null);
+    }
+
+    @Benchmark
+    public List<Long> specialtyCityNameIndexOnly(DoctorDirectoryState directory) {
+        return directory.doctorSearchIndex.search("cardio", "mumbai", "benchmark 7", null, null, null);
+    }
+
+    @Benchmark
+    public List<DoctorListingRow> specialtyCityNameIndex(DoctorDirectoryState directory) {
+        return load(directory, directory.doctorSearchIndex.search("cardio", "mumbai", "benchmark 7", null, null, null));
+    }
+
+    @Benchmark
+    public List<Doctor> specialtyCityNameJpql(DoctorDirectoryState directory) {
+        return directory.doctorRepository.findActiveDoctorsWithFilters("cardio", "mumbai", "benchmark 7", null, null, null);
+    }
+
+    private static List<DoctorListingRow> load(DoctorDirectoryState directory, List<Long> ids) {
+        List<DoctorListingRow> rows = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += ID_LOOKUP_CHUNK) {
+            rows.addAll(directory.doctorRepository.findActiveListingRowsByIds(ids.subList(start, Math.min(ids.size(), start + ID_LOOKUP_CHUNK))));
+        }
+        return rows;
+    }
+}
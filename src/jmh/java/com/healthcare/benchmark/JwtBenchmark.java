@@ -0,0 +1,82 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as done on every login and every authenticated request.
+ *
+ * authenticateRequest is what JwtFilter does per request: one verification, then userId, role and email
+ * read from the claims. authenticateRequestRebuildingParser is the same work done the way JwtFilter used to:
+ * validateToken, extractUsername, extractUserId and extractRole each decoding the key, building a parser
+ * and verifying the signature again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken("42", "PATIENT", "patient42@benchmark.test");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("42", "PATIENT", "patient42@benchmark.test");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public Object[] authenticateRequest() {
+        Claims claims = jwtUtil.parseClaims(token);
+        return new Object[] {claims.getSubject(), jwtUtil.extractUserId(claims), claims.get("role", String.class), claims.get("email", String.class)};
+    }
+
+    @Benchmark
+    public Object[] authenticateRequestRebuildingParser() {
+        rebuiltParser().parseClaimsJws(token);
+        String subject = rebuiltParser().parseClaimsJws(token).getBody().getSubject();
+        Long userId = Long.parseLong(rebuiltParser().parseClaimsJws(token).getBody().getSubject());
+        String role = rebuiltParser().parseClaimsJws(token).getBody().get("role", String.class);
+        return new Object[] {subject, userId, role};
+    }
+
+    // Same secret as JwtUtil
+    private static JwtParser rebuiltParser() {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode("404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970"));
+        return Jwts.parserBuilder().setSigningKey(key).build();
+    }
+}
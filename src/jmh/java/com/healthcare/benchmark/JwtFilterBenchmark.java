@@ -0,0 +1,56 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.security.JwtFilter;
+import com.healthcare.security.JwtUtil;
+import com.healthcare.tracing.TraceBuffer;
+import com.healthcare.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JwtFilter work of one authenticated request: header parsing, token verification and claim
+ * extraction, and populating the security context and the userId, role and email request attributes.
+ * Outside a traced request the Tracer records nothing, so tracing does not show up here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private JwtFilter jwtFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        jwtFilter = new JwtFilter(jwtUtil, new Tracer(new TraceBuffer(1), true, 0));
+        authorization = "Bearer " + jwtUtil.generateToken("42", "PATIENT", "patient42@benchmark.test");
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patient/appointments");
+        request.addHeader("Authorization", authorization);
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return request.getAttribute("userId");
+    }
+}
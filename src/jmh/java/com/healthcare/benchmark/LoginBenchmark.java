@@ -0,0 +1,33 @@
+package com.healthcare.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Patient and doctor login, dominated by the BCrypt password check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    @Benchmark
+    public Map<String, Object> patientLogin(ApplicationState app) {
+        return app.patientService.login(app.patient.getEmail(), ApplicationState.PASSWORD);
+    }
+
+    @Benchmark
+    public Map<String, Object> doctorLogin(ApplicationState app) {
+        return app.doctorService.login(app.doctor.getMobile(), ApplicationState.PASSWORD);
+    }
+}
@@ -0,0 +1,125 @@
+package com.healthcare.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.dto.DoctorListResponse;
+import com.healthcare.dto.DoctorListing;
+import com.healthcare.media.MediaStore;
+import com.healthcare.model.Doctor;
+import com.healthcare.repository.DoctorRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing response bodies with the application's ObjectMapper. The doctor directory is
+ * measured both as the typed DoctorListResponse and as the HashMap-per-row body it replaced; run with
+ * -prof gc to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final int THUMBNAIL_SIZE = 128;
+
+    private ObjectMapper objectMapper;
+    private List<Doctor> doctors;
+    private DoctorListResponse listing;
+    private Map<String, Object> listingMap;
+    private Map<String, Object> appointments;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        objectMapper = app.objectMapper;
+        doctors = app.context.getBean(DoctorRepository.class).findAll();
+        listing = buildListing(doctors);
+        listingMap = buildListingMap(doctors);
+        appointments = app.patientService.getAppointments(app.patient.getId(), null, null, null);
+    }
+
+    @Benchmark
+    public byte[] serializeListing() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public byte[] serializeListingMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listingMap);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeListing() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(buildListing(doctors));
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeListingMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(buildListingMap(doctors));
+    }
+
+    @Benchmark
+    public byte[] serializeAppointments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointments);
+    }
+
+    private static DoctorListResponse buildListing(List<Doctor> doctors) {
+        List<DoctorListing> rows = new ArrayList<>(doctors.size());
+        for (Doctor doctor : doctors) {
+            rows.add(DoctorListing.from(doctor, THUMBNAIL_SIZE));
+        }
+        return new DoctorListResponse(rows);
+    }
+
+    // The listing body as PatientServiceImpl built it before DoctorListing
+    private static Map<String, Object> buildListingMap(List<Doctor> doctors) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Doctor doctor : doctors) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", doctor.getId());
+            row.put("full_name", doctor.getFullName());
+            row.put("email", doctor.getEmail());
+            row.put("mobile", doctor.getMobile());
+            row.put("specialty", doctor.getSpecialty());
+            row.put("degree", doctor.getDegree());
+            row.put("experience", doctor.getExperience());
+            row.put("clinic_name", doctor.getClinicName());
+            row.put("clinic_address", doctor.getClinicAddress());
+            row.put("city", doctor.getCity());
+            row.put("state", doctor.getState());
+            row.put("available_days", doctor.getAvailableDays());
+            row.put("available_from", doctor.getAvailableFrom());
+            row.put("available_to", doctor.getAvailableTo());
+            row.put("languages", doctor.getLanguages() != null ?
+                Arrays.asList(doctor.getLanguages().split(",")) : new ArrayList<>());
+            row.put("profile_photo", doctor.getProfilePhoto());
+            row.put("profile_photo_url", MediaStore.urlOf(doctor.getProfilePhoto()));
+            row.put("profile_photo_thumbnail", MediaStore.thumbnailUrlOf(doctor.getProfilePhoto(), THUMBNAIL_SIZE));
+            row.put("consultation_fee", doctor.getConsultationFee() != null ? doctor.getConsultationFee() : 0.0);
+            row.put("average_rating", doctor.getRating() != null ? doctor.getRating() : 0.0);
+            row.put("total_reviews", doctor.getReviewCount() != null ? doctor.getReviewCount() : 0L);
+            rows.add(row);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("doctors", rows);
+        response.put("count", rows.size());
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.dto.DoctorListResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the patient and doctor APIs, called on the services so the numbers cover the query,
+ * the mapping and the formatting without HTTP. The doctor listing runs with the result cache off
+ * (see application-jmh.properties).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Benchmark
+    public DoctorListResponse listAllDoctors(ApplicationState app) {
+        return app.patientService.listDoctors(null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public DoctorListResponse listDoctorsBySpecialtyAndCity(ApplicationState app) {
+        return app.patientService.listDoctors("Cardiology", "Mumbai", null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public DoctorListResponse searchDoctors(ApplicationState app) {
+        return app.patientService.listDoctors(null, null, "benchmark 1", null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> patientAppointments(ApplicationState app) {
+        return app.patientService.getAppointments(app.patient.getId(), null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> doctorAppointments(ApplicationState app) {
+        return app.doctorService.getAppointments(app.doctor.getId(), null, null, null, null, null);
+    }
+}
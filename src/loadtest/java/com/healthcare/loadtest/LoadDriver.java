@@ -0,0 +1,116 @@
+package com.healthcare.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs one phase of one scenario and records the latency of every successful (2xx) response in
+ * microseconds.
+ *
+ * With a positive rate the load is an open model: requests are scheduled at fixed intervals regardless of
+ * how fast earlier ones complete, up to concurrency of them are in flight, and latency is measured from the
+ * scheduled start, so time spent waiting for a free client counts (no coordinated omission). Requests
+ * still queued drainTimeout after the phase ends are dropped. With rate 0 the load is a closed model:
+ * concurrency clients each send their next request as soon as the previous one completes.
+ */
+final class LoadDriver {
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadTestData data;
+    private final int concurrency;
+    private final Duration requestTimeout;
+    private final Duration drainTimeout;
+
+    LoadDriver(HttpClient client, String baseUrl, LoadTestData data, int concurrency, Duration requestTimeout, Duration drainTimeout) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.concurrency = concurrency;
+        this.requestTimeout = requestTimeout;
+        this.drainTimeout = drainTimeout;
+    }
+
+    Result run(Scenario scenario, double rate, Duration duration) throws InterruptedException {
+        Result result = new Result();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "loadtest-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicLong sequence = new AtomicLong();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        if (rate > 0) {
+            double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            for (long i = 0; ; i++) {
+                long scheduled = start + (long) (i * intervalNanos);
+                if (scheduled - end >= 0) {
+                    break;
+                }
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                clients.execute(() -> send(scenario, sequence.getAndIncrement(), scheduled, result));
+            }
+        } else {
+            for (int i = 0; i < concurrency; i++) {
+                clients.execute(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) - end < 0) {
+                        send(scenario, sequence.getAndIncrement(), now, result);
+                    }
+                });
+            }
+        }
+
+        clients.shutdown();
+        if (!clients.awaitTermination(duration.plus(drainTimeout).toNanos() - (System.nanoTime() - start), TimeUnit.NANOSECONDS)) {
+            List<Runnable> queued = clients.shutdownNow();
+            result.dropped.addAndGet(queued.size());
+            clients.awaitTermination(requestTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        result.elapsedNanos = Math.max(System.nanoTime() - start, duration.toNanos());
+        return result;
+    }
+
+    private void send(Scenario scenario, long n, long scheduled, Result result) {
+        try {
+            HttpRequest request = scenario.build(baseUrl, data, n, requestTimeout);
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 == 2) {
+                result.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+            } else {
+                result.errors.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.dropped.incrementAndGet();
+        } catch (Exception e) {
+            result.errors.incrementAndGet();
+        }
+    }
+
+    static final class Result {
+        final Histogram latency = new ConcurrentHistogram(3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        long elapsedNanos;
+
+        double throughput() {
+            return latency.getTotalCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.healthcare.loadtest;
+
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.search.DoctorSearchIndex;
+import com.healthcare.security.JwtUtil;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dataset the load test runs against, written straight through the repositories before the first phase:
+ * approved doctors spread over SPECIALTIES x CITIES, patients, and a page of past appointments for each of
+ * the first APPOINTMENT_DOCTORS doctors. Every account's password is PASSWORD; JWTs are issued up front so
+ * authenticated scenarios do not log in first.
+ */
+final class LoadTestData {
+    static final String PASSWORD = "Loadtest@123";
+    static final String[] SPECIALTIES = {"Cardiology", "Dermatology", "Neurology", "Orthopedics", "Pediatrics", "Psychiatry", "General Medicine", "ENT"};
+    static final String[] CITIES = {"Mumbai", "Delhi", "Bengaluru", "Chennai", "Hyderabad", "Pune", "Kolkata", "Jaipur"};
+    static final int APPOINTMENT_DOCTORS = 100;
+    static final int APPOINTMENTS_PER_DOCTOR = 20;
+
+    // Bookable slots per doctor and day: 09:00 to 17:00 in 15 minute steps
+    private static final int SLOTS_PER_DAY = 32;
+    private static final LocalTime FIRST_SLOT = LocalTime.of(9, 0);
+
+    final List<Doctor> doctors;
+    final List<Patient> patients;
+    final List<String> doctorTokens;
+    final List<String> patientTokens;
+    private final LocalDate firstBookingDate = LocalDate.now().plusDays(1);
+    private final AtomicLong bookings = new AtomicLong();
+
+    private LoadTestData(List<Doctor> doctors, List<Patient> patients, List<String> doctorTokens, List<String> patientTokens) {
+        this.doctors = doctors;
+        this.patients = patients;
+        this.doctorTokens = doctorTokens;
+        this.patientTokens = patientTokens;
+    }
+
+    static LoadTestData seed(ApplicationContext context, int doctorCount, int patientCount) {
+        // One hash for every account; BCrypt is deliberately slow and would dominate the setup otherwise
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+
+        List<Doctor> doctors = new ArrayList<>(doctorCount);
+        for (int i = 0; i < doctorCount; i++) {
+            Doctor d = new Doctor();
+            d.setFullName("Dr. Loadtest " + i);
+            d.setEmail("doctor" + i + "@loadtest.test");
+            d.setMobile(String.format("9%09d", i));
+            d.setPassword(passwordHash);
+            d.setSpecialty(SPECIALTIES[i % SPECIALTIES.length]);
+            d.setCity(CITIES[(i / SPECIALTIES.length) % CITIES.length]);
+            d.setState("State " + (i % 5));
+            d.setDegree("MBBS, MD");
+            d.setExperience(String.valueOf(5 + i % 25));
+            d.setClinicName("Clinic " + i);
+            d.setClinicAddress(i + " Main Road, " + d.getCity());
+            d.setLanguages("English,Hindi");
+            d.setAvailableDays("Mon,Tue,Wed,Thu,Fri,Sat,Sun");
+            d.setAvailableFrom("09:00");
+            d.setAvailableTo("17:00");
+            d.setConsultationFee(300.0 + 50 * (i % 10));
+            d.setApproved(true);
+            doctors.add(d);
+        }
+        doctors = context.getBean(DoctorRepository.class).saveAll(doctors);
+
+        List<Patient> patients = new ArrayList<>(patientCount);
+        for (int i = 0; i < patientCount; i++) {
+            Patient p = new Patient();
+            p.setFullName("Loadtest Patient " + i);
+            p.setEmail("patient" + i + "@loadtest.test");
+            p.setMobile(String.format("8%09d", i));
+            p.setPassword(passwordHash);
+            p.setCity(CITIES[i % CITIES.length]);
+            patients.add(p);
+        }
+        patients = context.getBean(PatientRepository.class).saveAll(patients);
+
+        // Past appointments, so they never collide with the slots the booking scenario takes
+        String[] statuses = {"PENDING", "CONFIRMED", "COMPLETED", "CANCELLED"};
+        LocalDateTime firstAppointment = LocalDate.now().minusDays(APPOINTMENTS_PER_DOCTOR + 1).atTime(FIRST_SLOT);
+        List<Appointment> appointments = new ArrayList<>();
+        for (int d = 0; d < Math.min(APPOINTMENT_DOCTORS, doctors.size()); d++) {
+            for (int i = 0; i < APPOINTMENTS_PER_DOCTOR; i++) {
+                Appointment a = new Appointment();
+                a.setDoctorId(doctors.get(d).getId());
+                a.setPatientId(patients.get((d * APPOINTMENTS_PER_DOCTOR + i) % patients.size()).getId());
+                a.setAppointmentDatetime(firstAppointment.plusDays(i));
+                a.setReason("Loadtest visit " + i);
+                a.setStatus(statuses[i % statuses.length]);
+                appointments.add(a);
+            }
+        }
+        context.getBean(AppointmentRepository.class).saveAll(appointments);
+        // The rows above bypass the services, so no change events reached the search index
+        context.getBean(DoctorSearchIndex.class).reload();
+
+        List<String> doctorTokens = new ArrayList<>(doctors.size());
+        for (Doctor d : doctors) {
+            doctorTokens.add(jwtUtil.generateToken(d.getId().toString(), "DOCTOR", d.getEmail()));
+        }
+        List<String> patientTokens = new ArrayList<>(patients.size());
+        for (Patient p : patients) {
+            patientTokens.add(jwtUtil.generateToken(p.getId().toString(), "PATIENT", p.getEmail()));
+        }
+        return new LoadTestData(doctors, patients, doctorTokens, patientTokens);
+    }
+
+    /**
+     * Hands out a slot no earlier booking has taken: doctors round-robin, then the next free slot of the
+     * day, then the next day.
+     */
+    BookingSlot nextBookingSlot() {
+        long n = bookings.getAndIncrement();
+        int doctorIndex = (int) (n % doctors.size());
+        long slot = n / doctors.size();
+        LocalDate date = firstBookingDate.plusDays(slot / SLOTS_PER_DAY);
+        LocalTime time = FIRST_SLOT.plusMinutes(15 * (slot % SLOTS_PER_DAY));
+        return new BookingSlot(doctors.get(doctorIndex).getId(), date, time);
+    }
+
+    static final class BookingSlot {
+        final Long doctorId;
+        final LocalDate date;
+        final LocalTime time;
+
+        BookingSlot(Long doctorId, LocalDate date, LocalTime time) {
+            this.doctorId = doctorId;
+            this.date = date;
+            this.time = time;
+        }
+    }
+}
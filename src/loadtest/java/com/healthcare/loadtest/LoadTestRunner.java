@@ -0,0 +1,139 @@
+package com.healthcare.loadtest;
+
+import com.healthcare.DoctorAppApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single-node load test. Boots the application in-process on an H2 database in PostgreSQL mode (profile
+ * "loadtest"), seeds it (see LoadTestData), then runs every scenario at every rate: a warm-up phase whose
+ * results are discarded, followed by the measured phase. Prints throughput and latency percentiles per
+ * phase and writes each latency histogram to the output directory (HdrHistogram .hgrm, milliseconds).
+ *
+ * Options, each given as name=value:
+ *   scenarios    comma separated, default search,book,doctor-appointments,patient-login,doctor-login
+ *   rates        requests per second, comma separated, default 100; 0 runs the closed model
+ *   concurrency  clients (open model: maximum requests in flight), default 64
+ *   duration     measured seconds per phase, default 30
+ *   warmup       warm-up seconds per phase, default 5
+ *   doctors      seeded doctors, default 2000
+ *   patients     seeded patients, default 1000
+ *   timeout      request timeout in seconds, default 30
+ *   output       histogram directory, default target/loadtest
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String id : option(options, "scenarios", "search,book,doctor-appointments,patient-login,doctor-login").split(",")) {
+            scenarios.add(Scenario.byId(id.trim()));
+        }
+        List<Double> rates = new ArrayList<>();
+        for (String rate : option(options, "rates", "100").split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+        int concurrency = Integer.parseInt(option(options, "concurrency", "64"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(option(options, "duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(option(options, "warmup", "5")));
+        int doctors = Integer.parseInt(option(options, "doctors", "2000"));
+        int patients = Integer.parseInt(option(options, "patients", "1000"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(option(options, "timeout", "30")));
+        Path output = Paths.get(option(options, "output", "target/loadtest"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DoctorAppApplication.class)
+            .profiles("loadtest")
+            .run();
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            System.out.printf("Seeding %d doctors and %d patients%n", doctors, patients);
+            LoadTestData data = LoadTestData.seed(context, doctors, patients);
+
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+            LoadDriver driver = new LoadDriver(client, baseUrl, data, concurrency, timeout, timeout);
+            Files.createDirectories(output);
+
+            System.out.printf("%-20s %10s %12s %8s %8s %9s %9s %9s %9s %9s%n",
+                "scenario", "rate", "throughput", "errors", "dropped", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Scenario scenario : scenarios) {
+                for (double rate : rates) {
+                    if (!warmup.isZero()) {
+                        driver.run(scenario, rate, warmup);
+                    }
+                    LoadDriver.Result result = driver.run(scenario, rate, duration);
+                    report(scenario, rate, result);
+                    writeHistogram(output.resolve(scenario.id + "-" + (rate > 0 ? formatRate(rate) : "closed") + ".hgrm"), result.latency);
+                }
+            }
+            System.out.println("Histograms written to " + output.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void report(Scenario scenario, double rate, LoadDriver.Result result) {
+        Histogram latency = result.latency;
+        System.out.printf(Locale.ROOT, "%-20s %10s %12.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            scenario.id,
+            rate > 0 ? formatRate(rate) : "closed",
+            result.throughput(),
+            result.errors.get(),
+            result.dropped.get(),
+            millis(latency.getValueAtPercentile(50)),
+            millis(latency.getValueAtPercentile(95)),
+            millis(latency.getValueAtPercentile(99)),
+            millis(latency.getValueAtPercentile(99.9)),
+            millis(latency.getMaxValue()));
+    }
+
+    private static void writeHistogram(Path file, Histogram latency) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latency.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String formatRate(double rate) {
+        return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.valueOf(rate);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+}
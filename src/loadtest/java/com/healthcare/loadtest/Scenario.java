@@ -0,0 +1,90 @@
+package com.healthcare.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Endpoints the load test drives. Request n of a phase picks its doctor, patient or filters from n so that
+ * consecutive requests spread over the dataset.
+ */
+enum Scenario {
+    SEARCH("search") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestData data, long n) {
+            String specialty = LoadTestData.SPECIALTIES[(int) (n % LoadTestData.SPECIALTIES.length)];
+            String city = LoadTestData.CITIES[(int) ((n / LoadTestData.SPECIALTIES.length) % LoadTestData.CITIES.length)];
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/patient/doctors?specialty=" + encode(specialty) + "&city=" + encode(city)))
+                .GET();
+        }
+    },
+    BOOK("book") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestData data, long n) {
+            LoadTestData.BookingSlot slot = data.nextBookingSlot();
+            String body = "{\"doctor_id\":" + slot.doctorId
+                + ",\"appointment_date\":\"" + slot.date
+                + "\",\"appointment_time\":\"" + slot.time
+                + "\",\"reason\":\"Load test\"}";
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/patient/appointments/book"))
+                .header("Authorization", "Bearer " + data.patientTokens.get((int) (n % data.patientTokens.size())))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    DOCTOR_APPOINTMENTS("doctor-appointments") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestData data, long n) {
+            int doctors = Math.min(LoadTestData.APPOINTMENT_DOCTORS, data.doctorTokens.size());
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/doctor/appointments"))
+                .header("Authorization", "Bearer " + data.doctorTokens.get((int) (n % doctors)))
+                .GET();
+        }
+    },
+    PATIENT_LOGIN("patient-login") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestData data, long n) {
+            return login(baseUrl + "/api/patient/login", data.patients.get((int) (n % data.patients.size())).getEmail());
+        }
+    },
+    DOCTOR_LOGIN("doctor-login") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestData data, long n) {
+            return login(baseUrl + "/api/doctor/login", data.doctors.get((int) (n % data.doctors.size())).getEmail());
+        }
+    };
+
+    final String id;
+
+    Scenario(String id) {
+        this.id = id;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, LoadTestData data, long n);
+
+    HttpRequest build(String baseUrl, LoadTestData data, long n, Duration timeout) {
+        return request(baseUrl, data, n).timeout(timeout).build();
+    }
+
+    static Scenario byId(String id) {
+        for (Scenario scenario : values()) {
+            if (scenario.id.equals(id)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + id);
+    }
+
+    private static HttpRequest.Builder login(String url, String identifier) {
+        String body = "{\"identifier\":\"" + identifier + "\",\"password\":\"" + LoadTestData.PASSWORD + "\"}";
+        return HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
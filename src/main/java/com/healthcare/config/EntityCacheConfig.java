@@ -0,0 +1,58 @@
+package com.healthcare.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level cache (Doctor, Patient and Admin).
+ * Each region is bounded by entry count and drops entries a fixed time after they were written. Entries
+ * are local to the instance, so the TTL also bounds how long changes made by another instance go unseen.
+ * The regions are created here rather than in a Typesafe config file so their limits are ordinary
+ * application properties; Hibernate is handed the CacheManager and fails to start on unknown regions.
+ */
+@Configuration
+public class EntityCacheConfig {
+    public static final String DOCTORS_REGION = "doctors";
+    public static final String PATIENTS_REGION = "patients";
+    public static final String ADMINS_REGION = "admins";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${app.cache.ttl-seconds:300}") long ttlSeconds,
+                                           @Value("${app.cache.doctors.max-size:10000}") long doctorsMaxSize,
+                                           @Value("${app.cache.patients.max-size:50000}") long patientsMaxSize,
+                                           @Value("${app.cache.admins.max-size:1000}") long adminsMaxSize) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("hibernate-entity-cache"), getClass().getClassLoader());
+        createRegion(cacheManager, DOCTORS_REGION, doctorsMaxSize, ttlSeconds);
+        createRegion(cacheManager, PATIENTS_REGION, patientsMaxSize, ttlSeconds);
+        createRegion(cacheManager, ADMINS_REGION, adminsMaxSize, ttlSeconds);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, long ttlSeconds) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,19 @@
+package com.healthcare.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot registers Module beans with its ObjectMapper. Blackbird replaces reflective getter calls in
+ * bean serializers with generated lambdas, so the typed response DTOs serialize without reflection.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,24 @@
+package com.healthcare.config;
+
+import com.healthcare.metrics.InFlightRequestsInterceptor;
+import com.healthcare.sql.QueryBudgetInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    private final InFlightRequestsInterceptor inFlightRequestsInterceptor;
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+
+    public WebMvcConfig(InFlightRequestsInterceptor inFlightRequestsInterceptor, QueryBudgetInterceptor queryBudgetInterceptor) {
+        this.inFlightRequestsInterceptor = inFlightRequestsInterceptor;
+        this.queryBudgetInterceptor = queryBudgetInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(inFlightRequestsInterceptor);
+        registry.addInterceptor(queryBudgetInterceptor);
+    }
+}
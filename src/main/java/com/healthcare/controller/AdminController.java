@@ -3,23 +3,40 @@ package com.healthcare.controller;
 import com.healthcare.dto.ApiResponse;
 import com.healthcare.dto.ForgotPasswordRequest;
 import com.healthcare.dto.LoginRequest;
+import com.healthcare.exception.InvalidRequestException;
 import com.healthcare.model.Admin;
 import com.healthcare.service.AdminService;
+import com.healthcare.service.ExportService;
+import com.healthcare.service.ImportService;
+import com.healthcare.util.BulkFormat;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/admin")
 public class AdminController {
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final AdminService adminService;
+    private final ExportService exportService;
+    private final ImportService importService;
 
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService, ExportService exportService, ImportService importService) {
         this.adminService = adminService;
+        this.exportService = exportService;
+        this.importService = importService;
     }
 
     // ===== FORGOT PASSWORD ENDPOINTS =====
@@ -107,9 +124,19 @@ public class AdminController {
     // ===== DOCTORS MANAGEMENT =====
     
     @GetMapping("/doctors")
-    public ResponseEntity<?> listDoctors(HttpServletRequest request) {
+    public ResponseEntity<?> listDoctors(
+            @RequestParam(required = false) Boolean approved,
+            @RequestParam(required = false) Boolean suspended,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest request) {
         try {
-            return ResponseEntity.ok(adminService.listDoctors());
+            return ResponseEntity.ok(adminService.listDoctors(approved, suspended, status, sort, order, cursor, limit));
+        } catch (InvalidRequestException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch doctors: " + e.getMessage()));
         }
@@ -172,9 +199,17 @@ public class AdminController {
     // ===== PATIENTS MANAGEMENT =====
     
     @GetMapping("/patients")
-    public ResponseEntity<?> listPatients(HttpServletRequest request) {
+    public ResponseEntity<?> listPatients(
+            @RequestParam(name = "is_active", required = false) Boolean isActive,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest request) {
         try {
-            return ResponseEntity.ok(adminService.listPatients());
+            return ResponseEntity.ok(adminService.listPatients(isActive, sort, order, cursor, limit));
+        } catch (InvalidRequestException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch patients: " + e.getMessage()));
         }
@@ -216,6 +251,102 @@ public class AdminController {
         }
     }
     
+    // ===== BULK EXPORT =====
+    
+    @GetMapping("/export/doctors")
+    public ResponseEntity<?> exportDoctors(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        return streamExport("doctors", format, request, response, exportService::exportDoctors);
+    }
+    
+    @GetMapping("/export/patients")
+    public ResponseEntity<?> exportPatients(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        return streamExport("patients", format, request, response, exportService::exportPatients);
+    }
+    
+    /**
+     * Writes the export straight to the servlet output stream (gzip-compressed when the client accepts it)
+     * and returns null so Spring MVC does not render a body. Failures before the first byte is sent are
+     * reported as JSON; later failures are rethrown so the connection is aborted rather than ending in
+     * what looks like a complete file.
+     */
+    private ResponseEntity<?> streamExport(String name, String format, HttpServletRequest request,
+                                           HttpServletResponse response, ExportWriter writer) {
+        try {
+            BulkFormat exportFormat = BulkFormat.of(format);
+            String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+            
+            response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + exportFormat.getExtension() + "\"");
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            
+            OutputStream out = new BufferedOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE);
+            if (gzip) {
+                out = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+            }
+            writer.write(exportFormat, out);
+            out.close();
+            return null;
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                throw new RuntimeException("Export of " + name + " failed", e);
+            }
+            response.reset();
+            return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to export " + name + ": " + e.getMessage()));
+        }
+    }
+    
+    @FunctionalInterface
+    private interface ExportWriter {
+        long write(BulkFormat format, OutputStream out) throws IOException;
+    }
+    
+    // ===== BULK IMPORT =====
+    
+    @PostMapping("/import/doctors")
+    public ResponseEntity<?> importDoctors(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(importService.importDoctors(importFormat(format, file), file.getInputStream()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to import doctors: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/import/patients")
+    public ResponseEntity<?> importPatients(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(importService.importPatients(importFormat(format, file), file.getInputStream()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to import patients: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Uses the format parameter when given, otherwise the extension of the uploaded file name.
+     */
+    private BulkFormat importFormat(String format, MultipartFile file) {
+        String filename = file.getOriginalFilename();
+        if ((format == null || format.isEmpty()) && filename != null && filename.toLowerCase().endsWith(".csv")) {
+            return BulkFormat.CSV;
+        }
+        return BulkFormat.of(format);
+    }
+    
     private Long getUserIdFromToken(HttpServletRequest request) {
         Object userId = request.getAttribute("userId");
         if (userId != null) {
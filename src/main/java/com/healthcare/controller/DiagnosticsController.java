@@ -0,0 +1,55 @@
+package com.healthcare.controller;
+
+import com.healthcare.service.DiagnosticsService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+public class DiagnosticsController {
+    private final DiagnosticsService diagnosticsService;
+
+    public DiagnosticsController(DiagnosticsService diagnosticsService) {
+        this.diagnosticsService = diagnosticsService;
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<?> getCacheStatistics() {
+        try {
+            return ResponseEntity.ok(diagnosticsService.getCacheStatistics());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch cache statistics: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/search-cache")
+    public ResponseEntity<?> getSearchCacheStatistics() {
+        try {
+            return ResponseEntity.ok(diagnosticsService.getSearchCacheStatistics());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch search cache statistics: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/queries")
+    public ResponseEntity<?> getQueryStatistics(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(diagnosticsService.getQueryStatistics(limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch query statistics: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/traces")
+    public ResponseEntity<?> getSlowestTraces(@RequestParam(defaultValue = "10") int limit,
+                                              @RequestParam(defaultValue = "5") int minutes) {
+        try {
+            return ResponseEntity.ok(diagnosticsService.getSlowestTraces(limit, minutes));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch traces: " + e.getMessage()));
+        }
+    }
+}
@@ -6,10 +6,13 @@ import com.healthcare.dto.ForgotPasswordRequest;
 import com.healthcare.dto.LoginRequest;
 import com.healthcare.model.Doctor;
 import com.healthcare.service.DoctorService;
+import com.healthcare.util.ConditionalGet;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import com.healthcare.exception.AuthenticationException;
+import com.healthcare.exception.InvalidRequestException;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Collections;
@@ -89,10 +92,11 @@ public class DoctorController {
     // ===== PROFILE =====
     
     @GetMapping("/profile")
-    public ResponseEntity<?> getProfile(HttpServletRequest request) {
+    public ResponseEntity<?> getProfile(HttpServletRequest request, WebRequest webRequest) {
         try {
             Long doctorId = getUserIdFromToken(request);
-            return ResponseEntity.ok(doctorService.getProfile(doctorId));
+            return ConditionalGet.respond(webRequest, doctorService.getProfileETag(doctorId),
+                () -> doctorService.getProfile(doctorId));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch profile: " + e.getMessage()));
         }
@@ -103,6 +107,8 @@ public class DoctorController {
         try {
             Long doctorId = getUserIdFromToken(request);
             return ResponseEntity.ok(doctorService.updateProfile(doctorId, updates));
+        } catch (InvalidRequestException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Collections.singletonMap("error", "Profile update failed: " + e.getMessage()));
         }
@@ -111,10 +117,18 @@ public class DoctorController {
     // ===== APPOINTMENT MANAGEMENT =====
     
     @GetMapping("/appointments")
-    public ResponseEntity<?> getAppointments(HttpServletRequest request) {
+    public ResponseEntity<?> getAppointments(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest request) {
         try {
             Long doctorId = getUserIdFromToken(request);
-            return ResponseEntity.ok(doctorService.getAppointments(doctorId));
+            return ResponseEntity.ok(doctorService.getAppointments(doctorId, status, from, to, cursor, limit));
+        } catch (InvalidRequestException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch appointments: " + e.getMessage()));
         }
@@ -0,0 +1,191 @@
+package com.healthcare.controller;
+
+import com.healthcare.media.MediaAccess;
+import com.healthcare.media.MediaStore;
+import com.healthcare.media.ThumbnailGenerator;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/media")
+public class MediaController {
+    // Content never changes under a hash, so clients and proxies may keep public media indefinitely
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    // Served in place of a thumbnail that is still being generated, so it must not stick in caches
+    private static final String PROVISIONAL = "public, max-age=60";
+    // Access to private media is checked on every request; the ETag keeps the revalidation cheap
+    private static final String PRIVATE = "private, no-cache";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MediaStore mediaStore;
+    private final MediaAccess mediaAccess;
+    private final ThumbnailGenerator thumbnailGenerator;
+
+    public MediaController(MediaStore mediaStore, MediaAccess mediaAccess, ThumbnailGenerator thumbnailGenerator) {
+        this.mediaStore = mediaStore;
+        this.mediaAccess = mediaAccess;
+        this.thumbnailGenerator = thumbnailGenerator;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> upload(@RequestParam("file") MultipartFile file, HttpServletRequest request) {
+        try (InputStream in = file.getInputStream()) {
+            String hash = mediaStore.store(in);
+            mediaAccess.recordUpload(hash, role(request), userId(request));
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("hash", hash);
+            response.put("url", MediaStore.urlOf(hash));
+            response.put("size", file.getSize());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to store media: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Serves a blob, or with ?size= one of its thumbnails. A thumbnail that does not exist yet is queued
+     * and the original is served meanwhile with a short cache lifetime. Thumbnails of content that is not
+     * an image, or that generation already gave up on, are answered with 404.
+     *
+     * Doctor photos are public and cached as immutable. Any other blob needs a token that MediaAccess
+     * lets read it, and is only kept in the caller's private cache.
+     */
+    @GetMapping("/{hash}")
+    public void serve(@PathVariable String hash,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        boolean isPublic = mediaAccess.isPublic(hash);
+        if (!isPublic) {
+            Long userId = userId(request);
+            if (userId == null) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            if (!mediaAccess.canRead(hash, role(request), userId)) {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+                return;
+            }
+        }
+        Optional<Path> original = mediaStore.find(hash);
+        if (!original.isPresent() || (size != null && !thumbnailGenerator.isSupportedSize(size))) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String cacheControl = isPublic ? IMMUTABLE : PRIVATE;
+        if (size == null) {
+            send(original.get(), "\"" + hash + "\"", cacheControl, request, response);
+            return;
+        }
+        Optional<Path> thumbnail = mediaStore.findVariant(hash, size);
+        if (!thumbnail.isPresent()
+                && (thumbnailGenerator.isUnsupported(hash) || !mediaStore.contentType(original.get()).startsWith("image/"))) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (thumbnail.isPresent()) {
+            send(thumbnail.get(), "\"" + hash + "_" + size + "\"", cacheControl, request, response);
+        } else {
+            thumbnailGenerator.submit(hash);
+            send(original.get(), "\"" + hash + "\"", isPublic ? PROVISIONAL : PRIVATE, request, response);
+        }
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        return userId != null ? Long.parseLong(userId.toString()) : null;
+    }
+
+    private static String role(HttpServletRequest request) {
+        Object role = request.getAttribute("role");
+        return role != null ? role.toString() : null;
+    }
+
+    /**
+     * Sends a file with single-range support. On Tomcat the body goes out through sendfile, which
+     * copies it from the page cache to the socket with FileChannel.transferTo; other containers get
+     * transferTo into the response stream.
+     */
+    private void send(Path path, String etag, String cacheControl, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = Files.size(path);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(mediaStore.contentType(path));
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // Malformed and multi-range requests get the whole blob, which RFC 7233 allows
+        List<HttpRange> ranges = range != null && (ifRange == null || ifRange.equals(etag)) ? parseRanges(range) : Collections.emptyList();
+        if (ranges.size() == 1) {
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentLengthLong(end - start + 1);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end + 1 - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    private static List<HttpRange> parseRanges(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -5,25 +5,37 @@ import com.healthcare.dto.AppointmentRequest;
 import com.healthcare.dto.ForgotPasswordRequest;
 import com.healthcare.dto.LoginRequest;
 import com.healthcare.dto.RatingRequest;
+import com.healthcare.exception.InvalidRequestException;
+import com.healthcare.media.MediaAccess;
+import com.healthcare.media.MediaStore;
 import com.healthcare.model.Patient;
 import com.healthcare.service.PatientService;
+import com.healthcare.util.ConditionalGet;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/patient")
 public class PatientController {
     private final PatientService patientService;
+    private final MediaStore mediaStore;
+    private final MediaAccess mediaAccess;
 
-    public PatientController(PatientService patientService) {
+    public PatientController(PatientService patientService, MediaStore mediaStore, MediaAccess mediaAccess) {
         this.patientService = patientService;
+        this.mediaStore = mediaStore;
+        this.mediaAccess = mediaAccess;
     }
 
     // ===== FORGOT PASSWORD ENDPOINTS =====
@@ -89,10 +101,11 @@ public class PatientController {
     // ===== PROFILE =====
     
     @GetMapping("/profile")
-    public ResponseEntity<?> getProfile(HttpServletRequest request) {
+    public ResponseEntity<?> getProfile(HttpServletRequest request, WebRequest webRequest) {
         try {
             Long patientId = getUserIdFromToken(request);
-            return ResponseEntity.ok(patientService.getProfile(patientId));
+            return ConditionalGet.respond(webRequest, patientService.getProfileETag(patientId),
+                () -> patientService.getProfile(patientId));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch profile: " + e.getMessage()));
         }
@@ -107,15 +120,17 @@ public class PatientController {
             Long patientId = getUserIdFromToken(request);
             Map<String, Object> updateMap = new HashMap<>(updates);
             
-            // Handle file uploads if present
+            // Uploaded files go to the media store; the profile keeps their content hashes
             if (photoPath != null && !photoPath.isEmpty()) {
-                updateMap.put("photo_path", photoPath.getOriginalFilename());
+                updateMap.put("photo_path", storeUpload(photoPath, patientId));
             }
             if (documentPath != null && !documentPath.isEmpty()) {
-                updateMap.put("document_path", documentPath.getOriginalFilename());
+                updateMap.put("document_path", storeUpload(documentPath, patientId));
             }
             
             return ResponseEntity.ok(patientService.updateProfile(patientId, updateMap));
+        } catch (InvalidRequestException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Collections.singletonMap("error", "Profile update failed: " + e.getMessage()));
         }
@@ -129,16 +144,33 @@ public class PatientController {
             @RequestParam(required = false) String city,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Long doctor_id,
+            @RequestParam(required = false) List<Long> ids,
             @RequestParam(required = false) String patient_address,
             @RequestParam(required = false) String patient_location,
-            @RequestParam(required = false) String patient_city) {
+            @RequestParam(required = false) String patient_city,
+            WebRequest webRequest) {
         try {
-            return ResponseEntity.ok(patientService.listDoctors(specialty, city, search, doctor_id, patient_address, patient_location, patient_city));
+            // The ETag versions the whole directory, so it holds for every filter combination
+            return ConditionalGet.respond(webRequest, patientService.getDoctorDirectoryETag(),
+                () -> patientService.listDoctors(specialty, city, search, doctor_id, ids, patient_address, patient_location, patient_city));
+        } catch (InvalidRequestException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch doctors: " + e.getMessage()));
         }
     }
 
+    @GetMapping("/slots")
+    public ResponseEntity<?> getAvailableSlots(
+            @RequestParam Long doctor_id,
+            @RequestParam String date) {
+        try {
+            return ResponseEntity.ok(patientService.getAvailableSlots(doctor_id, date));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch available slots: " + e.getMessage()));
+        }
+    }
+
     // ===== APPOINTMENT MANAGEMENT =====
     
     @PostMapping("/appointments/book")
@@ -152,10 +184,16 @@ public class PatientController {
     }
     
     @GetMapping("/appointments")
-    public ResponseEntity<?> getAppointments(HttpServletRequest request) {
+    public ResponseEntity<?> getAppointments(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest request) {
         try {
             Long patientId = getUserIdFromToken(request);
-            return ResponseEntity.ok(patientService.getAppointments(patientId));
+            return ResponseEntity.ok(patientService.getAppointments(patientId, status, cursor, limit));
+        } catch (InvalidRequestException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Collections.singletonMap("error", "Failed to fetch appointments: " + e.getMessage()));
         }
@@ -201,6 +239,14 @@ public class PatientController {
         }
     }
 
+    private String storeUpload(MultipartFile file, Long patientId) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            String hash = mediaStore.store(in);
+            mediaAccess.recordUpload(hash, "PATIENT", patientId);
+            return hash;
+        }
+    }
+
     private Long getUserIdFromToken(HttpServletRequest request) {
         Object userId = request.getAttribute("userId");
         if (userId != null) {
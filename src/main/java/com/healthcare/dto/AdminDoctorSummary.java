@@ -0,0 +1,37 @@
+package com.healthcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the admin doctor listing. Built by a criteria constructor projection so that
+ * photo and document columns are never read.
+ */
+@Getter
+@AllArgsConstructor
+public class AdminDoctorSummary {
+    private Long id;
+
+    @JsonProperty("full_name")
+    private String fullName;
+
+    private String email;
+    private String mobile;
+    private String specialty;
+    private Boolean approved;
+    private Boolean suspended;
+    private String status;
+
+    @JsonProperty("created_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("documents_verified")
+    public boolean isDocumentsVerified() {
+        return false;
+    }
+}
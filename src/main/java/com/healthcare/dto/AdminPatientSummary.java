@@ -0,0 +1,33 @@
+package com.healthcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the admin patient listing. Built by a criteria constructor projection so that
+ * the photo and medical history columns are never read.
+ */
+@Getter
+@AllArgsConstructor
+public class AdminPatientSummary {
+    private Long id;
+
+    @JsonProperty("full_name")
+    private String fullName;
+
+    private String email;
+    private String mobile;
+    private String role;
+    private String gender;
+
+    @JsonProperty("is_active")
+    private Boolean isActive;
+
+    @JsonProperty("created_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,44 @@
+package com.healthcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the doctor's appointment listing: appointment columns joined with a patient summary.
+ * Built directly by a JPQL constructor expression in AppointmentRepository.
+ */
+@Getter
+@AllArgsConstructor
+public class DoctorAppointmentView {
+    private Long id;
+
+    @JsonProperty("appointment_datetime")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime appointmentDatetime;
+
+    private String reason;
+    private String status;
+
+    @JsonProperty("created_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("patient_name")
+    private String patientName;
+
+    @JsonProperty("patient_email")
+    private String patientEmail;
+
+    @JsonProperty("patient_phone")
+    private String patientPhone;
+
+    @JsonProperty("patient_blood_group")
+    private String patientBloodGroup;
+
+    @JsonProperty("patient_gender")
+    private String patientGender;
+}
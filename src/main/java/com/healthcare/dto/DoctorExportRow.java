@@ -0,0 +1,60 @@
+package com.healthcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the admin doctor export. Built by a JPQL constructor expression in DoctorRepository;
+ * credentials, photos and uploaded documents are deliberately left out.
+ */
+@Getter
+@AllArgsConstructor
+public class DoctorExportRow {
+    public static final String[] CSV_HEADER = {
+        "id", "full_name", "email", "mobile", "registration_number", "council", "degree", "specialty",
+        "clinic_name", "city", "state", "approved", "suspended", "status", "created_at", "updated_at"
+    };
+
+    private Long id;
+
+    @JsonProperty("full_name")
+    private String fullName;
+
+    private String email;
+    private String mobile;
+
+    @JsonProperty("registration_number")
+    private String registrationNumber;
+
+    private String council;
+    private String degree;
+    private String specialty;
+
+    @JsonProperty("clinic_name")
+    private String clinicName;
+
+    private String city;
+    private String state;
+    private Boolean approved;
+    private Boolean suspended;
+    private String status;
+
+    @JsonProperty("created_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    public Object[] toCsvRow() {
+        return new Object[] {
+            id, fullName, email, mobile, registrationNumber, council, degree, specialty,
+            clinicName, city, state, approved, suspended, status, createdAt, updatedAt
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.healthcare.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Response of /api/patient/doctors.
+ */
+@Getter
+public class DoctorListResponse {
+    private final boolean success = true;
+    private final List<DoctorListing> doctors;
+    private final int count;
+
+    public DoctorListResponse(List<DoctorListing> doctors) {
+        this.doctors = doctors;
+        this.count = doctors.size();
+    }
+}
@@ -0,0 +1,99 @@
+package com.healthcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.healthcare.media.MediaStore;
+import com.healthcare.model.Doctor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Doctor card of the patient-facing directory (/api/patient/doctors). Instances are immutable, which
+ * lets DoctorSearchCache hand the same list to every request.
+ */
+@Getter
+@AllArgsConstructor
+public class DoctorListing {
+    private final Long id;
+
+    @JsonProperty("full_name")
+    private final String fullName;
+
+    private final String email;
+    private final String mobile;
+    private final String specialty;
+    private final String degree;
+    private final String experience;
+
+    @JsonProperty("clinic_name")
+    private final String clinicName;
+
+    @JsonProperty("clinic_address")
+    private final String clinicAddress;
+
+    private final String city;
+    private final String state;
+
+    @JsonProperty("available_days")
+    private final String availableDays;
+
+    @JsonProperty("available_from")
+    private final String availableFrom;
+
+    @JsonProperty("available_to")
+    private final String availableTo;
+
+    private final List<String> languages;
+
+    @JsonProperty("profile_photo")
+    private final String profilePhoto;
+
+    @JsonProperty("profile_photo_url")
+    private final String profilePhotoUrl;
+
+    @JsonProperty("profile_photo_thumbnail")
+    private final String profilePhotoThumbnail;
+
+    @JsonProperty("consultation_fee")
+    private final double consultationFee;
+
+    // Rating and review count are the aggregates maintained on the doctor row by rateAppointment
+    @JsonProperty("average_rating")
+    private final double averageRating;
+
+    @JsonProperty("total_reviews")
+    private final long totalReviews;
+
+    public static DoctorListing from(Doctor doctor, int thumbnailSize) {
+        return from(DoctorListingRow.of(doctor), thumbnailSize);
+    }
+
+    public static DoctorListing from(DoctorListingRow row, int thumbnailSize) {
+        return new DoctorListing(
+            row.getId(),
+            row.getFullName(),
+            row.getEmail(),
+            row.getMobile(),
+            row.getSpecialty(),
+            row.getDegree(),
+            row.getExperience(),
+            row.getClinicName(),
+            row.getClinicAddress(),
+            row.getCity(),
+            row.getState(),
+            row.getAvailableDays(),
+            row.getAvailableFrom(),
+            row.getAvailableTo(),
+            row.getLanguages() != null ? Collections.unmodifiableList(Arrays.asList(row.getLanguages().split(","))) : Collections.emptyList(),
+            row.getProfilePhoto(),
+            MediaStore.urlOf(row.getProfilePhoto()),
+            MediaStore.thumbnailUrlOf(row.getProfilePhoto(), thumbnailSize),
+            row.getConsultationFee() != null ? row.getConsultationFee() : 0.0,
+            row.getRating() != null ? row.getRating() : 0.0,
+            row.getReviewCount() != null ? row.getReviewCount() : 0L
+        );
+    }
+}
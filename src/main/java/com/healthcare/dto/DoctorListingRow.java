@@ -0,0 +1,58 @@
+package com.healthcare.dto;
+
+import com.healthcare.model.Doctor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The doctor columns a directory card is built from. Built by a JPQL constructor expression in
+ * DoctorRepository, so listings served from the search index read only these columns instead of
+ * hydrating and caching whole Doctor entities.
+ */
+@Getter
+@AllArgsConstructor
+public class DoctorListingRow {
+    private final Long id;
+    private final String fullName;
+    private final String email;
+    private final String mobile;
+    private final String specialty;
+    private final String degree;
+    private final String experience;
+    private final String clinicName;
+    private final String clinicAddress;
+    private final String city;
+    private final String state;
+    private final String availableDays;
+    private final String availableFrom;
+    private final String availableTo;
+    private final String languages;
+    private final String profilePhoto;
+    private final Double consultationFee;
+    private final Double rating;
+    private final Long reviewCount;
+
+    public static DoctorListingRow of(Doctor doctor) {
+        return new DoctorListingRow(
+            doctor.getId(),
+            doctor.getFullName(),
+            doctor.getEmail(),
+            doctor.getMobile(),
+            doctor.getSpecialty(),
+            doctor.getDegree(),
+            doctor.getExperience(),
+            doctor.getClinicName(),
+            doctor.getClinicAddress(),
+            doctor.getCity(),
+            doctor.getState(),
+            doctor.getAvailableDays(),
+            doctor.getAvailableFrom(),
+            doctor.getAvailableTo(),
+            doctor.getLanguages(),
+            doctor.getProfilePhoto(),
+            doctor.getConsultationFee(),
+            doctor.getRating(),
+            doctor.getReviewCount()
+        );
+    }
+}
@@ -0,0 +1,119 @@
+package com.healthcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.healthcare.media.MediaStore;
+import com.healthcare.model.Doctor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The signed-in doctor's own profile (/api/doctor/profile). Credentials and reset OTPs are not part of it.
+ */
+@Getter
+@AllArgsConstructor
+public class DoctorProfile {
+    private final Long id;
+
+    @JsonProperty("full_name")
+    private final String fullName;
+
+    private final String email;
+    private final String mobile;
+    private final String gender;
+    private final String location;
+
+    @JsonProperty("registration_number")
+    private final String registrationNumber;
+
+    @JsonProperty("license_number")
+    private final String licenseNumber;
+
+    private final String council;
+    private final String degree;
+    private final String specialty;
+    private final String experience;
+
+    @JsonProperty("clinic_name")
+    private final String clinicName;
+
+    @JsonProperty("clinic_address")
+    private final String clinicAddress;
+
+    @JsonProperty("profile_photo")
+    private final String profilePhoto;
+
+    @JsonProperty("profile_photo_url")
+    private final String profilePhotoUrl;
+
+    private final String role;
+    private final String dob;
+
+    @JsonProperty("blood_group")
+    private final String bloodGroup;
+
+    @JsonProperty("available_days")
+    private final String availableDays;
+
+    @JsonProperty("available_from")
+    private final String availableFrom;
+
+    @JsonProperty("available_to")
+    private final String availableTo;
+
+    private final String city;
+    private final String state;
+
+    @JsonProperty("zip_code")
+    private final String zipCode;
+
+    private final String languages;
+    private final String status;
+    private final String documents;
+    private final Boolean approved;
+    private final Boolean suspended;
+
+    @JsonProperty("created_at")
+    private final LocalDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    private final LocalDateTime updatedAt;
+
+    public static DoctorProfile from(Doctor doctor) {
+        return new DoctorProfile(
+            doctor.getId(),
+            doctor.getFullName(),
+            doctor.getEmail(),
+            doctor.getMobile(),
+            doctor.getGender(),
+            doctor.getLocation(),
+            doctor.getRegistrationNumber(),
+            doctor.getLicenseNumber(),
+            doctor.getCouncil(),
+            doctor.getDegree(),
+            doctor.getSpecialty(),
+            doctor.getExperience(),
+            doctor.getClinicName(),
+            doctor.getClinicAddress(),
+            doctor.getProfilePhoto(),
+            MediaStore.urlOf(doctor.getProfilePhoto()),
+            doctor.getRole(),
+            doctor.getDob(),
+            doctor.getBloodGroup(),
+            doctor.getAvailableDays(),
+            doctor.getAvailableFrom(),
+            doctor.getAvailableTo(),
+            doctor.getCity(),
+            doctor.getState(),
+            doctor.getZipCode(),
+            doctor.getLanguages(),
+            doctor.getStatus(),
+            doctor.getDocuments(),
+            doctor.getApproved(),
+            doctor.getSuspended(),
+            doctor.getCreatedAt(),
+            doctor.getUpdatedAt()
+        );
+    }
+}
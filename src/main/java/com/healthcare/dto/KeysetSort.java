@@ -0,0 +1,56 @@
+package com.healthcare.dto;
+
+import com.healthcare.exception.InvalidRequestException;
+
+/**
+ * Sort orders supported by keyset-paginated listings. Every order ends with id as tie-breaker,
+ * so (sort key, id) identifies a position in the listing and can be carried in a PageCursor.
+ */
+public enum KeysetSort {
+    ID_ASC(false, false),
+    ID_DESC(false, true),
+    CREATED_AT_ASC(true, false),
+    CREATED_AT_DESC(true, true);
+
+    private final boolean byCreatedAt;
+    private final boolean descending;
+
+    KeysetSort(boolean byCreatedAt, boolean descending) {
+        this.byCreatedAt = byCreatedAt;
+        this.descending = descending;
+    }
+
+    public boolean isByCreatedAt() {
+        return byCreatedAt;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Parses the sort ("id" or "created_at") and order ("asc" or "desc") request parameters; defaults to id ascending.
+     */
+    public static KeysetSort of(String sort, String order) {
+        boolean byCreatedAt;
+        if (sort == null || sort.isEmpty() || "id".equalsIgnoreCase(sort)) {
+            byCreatedAt = false;
+        } else if ("created_at".equalsIgnoreCase(sort)) {
+            byCreatedAt = true;
+        } else {
+            throw new InvalidRequestException("Invalid sort. Use id or created_at");
+        }
+        boolean descending;
+        if (order == null || order.isEmpty() || "asc".equalsIgnoreCase(order)) {
+            descending = false;
+        } else if ("desc".equalsIgnoreCase(order)) {
+            descending = true;
+        } else {
+            throw new InvalidRequestException("Invalid order. Use asc or desc");
+        }
+        if (byCreatedAt) {
+            return descending ? CREATED_AT_DESC : CREATED_AT_ASC;
+        }
+        return descending ? ID_DESC : ID_ASC;
+    }
+}
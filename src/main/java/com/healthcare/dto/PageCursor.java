@@ -0,0 +1,51 @@
+package com.healthcare.dto;
+
+import com.healthcare.exception.InvalidRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor handed to clients of paginated listings.
+ * Holds the sort timestamp (may be null for id-only keysets) and the id of the last row returned.
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public String encode() {
+        String raw = (timestamp != null ? timestamp.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String timestampPart = raw.substring(0, separator);
+            LocalDateTime timestamp = timestampPart.isEmpty() ? null : LocalDateTime.parse(timestampPart);
+            return new PageCursor(timestamp, Long.parseLong(raw.substring(separator + 1)));
+        } catch (Exception e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Decodes a cursor of a listing keyed on a timestamp that is never null, rejecting id-only cursors.
+     */
+    public static PageCursor decodeWithTimestamp(String token) {
+        PageCursor cursor = decode(token);
+        if (cursor != null && cursor.getTimestamp() == null) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return cursor;
+    }
+}
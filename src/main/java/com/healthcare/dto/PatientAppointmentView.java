@@ -0,0 +1,67 @@
+package com.healthcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Row of the patient's appointment history: appointment columns joined with doctor details
+ * and a flag telling whether the appointment has already been rated.
+ * Built directly by a JPQL constructor expression in AppointmentRepository.
+ */
+@Getter
+@AllArgsConstructor
+public class PatientAppointmentView {
+    private Long id;
+
+    @JsonProperty("appointment_datetime")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime appointmentDatetime;
+
+    private String reason;
+    private String status;
+
+    @JsonProperty("created_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("doctor_name")
+    private String doctorName;
+
+    private String specialty;
+
+    @JsonProperty("clinic_name")
+    private String clinicName;
+
+    @JsonProperty("doctor_mobile")
+    private String doctorMobile;
+
+    @JsonProperty("available_days")
+    private String availableDays;
+
+    @JsonProperty("available_from")
+    private String availableFrom;
+
+    @JsonProperty("available_to")
+    private String availableTo;
+
+    @JsonProperty("has_rating")
+    private Integer hasRating;
+
+    @JsonProperty("appointment_date")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    public LocalDate getAppointmentDate() {
+        return appointmentDatetime.toLocalDate();
+    }
+
+    @JsonProperty("appointment_time")
+    @JsonFormat(pattern = "HH:mm")
+    public LocalTime getAppointmentTime() {
+        return appointmentDatetime.toLocalTime();
+    }
+}
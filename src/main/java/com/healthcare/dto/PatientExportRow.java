@@ -0,0 +1,55 @@
+package com.healthcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the admin patient export. Built by a JPQL constructor expression in PatientRepository;
+ * credentials, photos and medical history are deliberately left out.
+ */
+@Getter
+@AllArgsConstructor
+public class PatientExportRow {
+    public static final String[] CSV_HEADER = {
+        "id", "full_name", "email", "mobile", "gender", "date_of_birth", "city", "state", "country",
+        "is_active", "created_at", "updated_at"
+    };
+
+    private Long id;
+
+    @JsonProperty("full_name")
+    private String fullName;
+
+    private String email;
+    private String mobile;
+    private String gender;
+
+    @JsonProperty("date_of_birth")
+    private String dateOfBirth;
+
+    private String city;
+    private String state;
+    private String country;
+
+    @JsonProperty("is_active")
+    private Boolean isActive;
+
+    @JsonProperty("created_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    public Object[] toCsvRow() {
+        return new Object[] {
+            id, fullName, email, mobile, gender, dateOfBirth, city, state, country,
+            isActive, createdAt, updatedAt
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.healthcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.healthcare.media.MediaStore;
+import com.healthcare.model.Patient;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The signed-in patient's own profile (/api/patient/profile), wrapped with the account email and role.
+ */
+@Getter
+@AllArgsConstructor
+public class PatientProfile {
+    private final Details patient;
+    private final String email;
+    private final String role;
+
+    public static PatientProfile from(Patient patient) {
+        return new PatientProfile(Details.from(patient), patient.getEmail(), patient.getRole());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Details {
+        private final Long id;
+
+        @JsonProperty("full_name")
+        private final String fullName;
+
+        private final String email;
+        private final String mobile;
+        private final String gender;
+
+        @JsonProperty("date_of_birth")
+        private final String dateOfBirth;
+
+        @JsonProperty("blood_group")
+        private final String bloodGroup;
+
+        private final String address;
+        private final String city;
+        private final String state;
+        private final String zip;
+        private final String country;
+        private final String allergies;
+        private final String conditions;
+        private final String medications;
+        private final String surgeries;
+
+        @JsonProperty("emergency_contact_name")
+        private final String emergencyContactName;
+
+        @JsonProperty("emergency_contact_number")
+        private final String emergencyContactNumber;
+
+        @JsonProperty("document_path")
+        private final String documentPath;
+
+        @JsonProperty("document_url")
+        private final String documentUrl;
+
+        @JsonProperty("photo_path")
+        private final String photoPath;
+
+        @JsonProperty("photo_url")
+        private final String photoUrl;
+
+        private final String role;
+
+        @JsonProperty("is_active")
+        private final Boolean isActive;
+
+        private final Boolean verified;
+
+        @JsonProperty("created_at")
+        private final LocalDateTime createdAt;
+
+        @JsonProperty("updated_at")
+        private final LocalDateTime updatedAt;
+
+        static Details from(Patient patient) {
+            return new Details(
+                patient.getId(),
+                patient.getFullName(),
+                patient.getEmail(),
+                patient.getMobile(),
+                patient.getGender(),
+                patient.getDateOfBirth(),
+                patient.getBloodGroup(),
+                patient.getAddress(),
+                patient.getCity(),
+                patient.getState(),
+                patient.getZip(),
+                patient.getCountry(),
+                patient.getAllergies(),
+                patient.getConditions(),
+                patient.getMedications(),
+                patient.getSurgeries(),
+                patient.getEmergencyContactName(),
+                patient.getEmergencyContactNumber(),
+                patient.getDocumentPath(),
+                MediaStore.urlOf(patient.getDocumentPath()),
+                patient.getPhotoPath(),
+                MediaStore.urlOf(patient.getPhotoPath()),
+                patient.getRole(),
+                patient.getIsActive(),
+                patient.getVerified(),
+                patient.getCreatedAt(),
+                patient.getUpdatedAt()
+            );
+        }
+    }
+}
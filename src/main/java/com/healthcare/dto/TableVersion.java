@@ -0,0 +1,18 @@
+package com.healthcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest updated_at of a table, built by a JPQL constructor expression. Any insert,
+ * delete or entity update changes at least one of the two, which makes the pair a version of the table
+ * for detecting changes made by other instances (DoctorDirectoryVersion).
+ */
+@Getter
+@AllArgsConstructor
+public class TableVersion {
+    private long rowCount;
+    private LocalDateTime lastUpdatedAt;
+}
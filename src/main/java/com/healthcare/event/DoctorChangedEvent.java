@@ -0,0 +1,42 @@
+package com.healthcare.event;
+
+import com.healthcare.model.Doctor;
+import lombok.Getter;
+
+/**
+ * Published whenever a doctor's data visible in search results changes. Listeners that keep derived
+ * state (DoctorSearchIndex, DoctorSearchCache) handle it after the publishing transaction commits.
+ */
+@Getter
+public class DoctorChangedEvent {
+    /** Null when the change may have touched any number of doctors. */
+    private final Long doctorId;
+
+    /** State after the change; null when the doctor was deleted or only rating aggregates changed. */
+    private final Doctor doctor;
+
+    private final boolean deleted;
+
+    private DoctorChangedEvent(Long doctorId, Doctor doctor, boolean deleted) {
+        this.doctorId = doctorId;
+        this.doctor = doctor;
+        this.deleted = deleted;
+    }
+
+    public static DoctorChangedEvent saved(Doctor doctor) {
+        return new DoctorChangedEvent(doctor.getId(), doctor, false);
+    }
+
+    public static DoctorChangedEvent deleted(Long doctorId) {
+        return new DoctorChangedEvent(doctorId, null, true);
+    }
+
+    public static DoctorChangedEvent ratingsChanged(Long doctorId) {
+        return new DoctorChangedEvent(doctorId, null, false);
+    }
+
+    /** The doctors table was changed by another instance; which doctors is unknown. */
+    public static DoctorChangedEvent changedElsewhere() {
+        return new DoctorChangedEvent(null, null, false);
+    }
+}
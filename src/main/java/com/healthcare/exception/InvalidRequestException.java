@@ -0,0 +1,12 @@
+package com.healthcare.exception;
+
+/**
+ * A request parameter the client sent is malformed, such as a tampered page cursor. Controllers answer
+ * it with 400 and the message.
+ */
+@SuppressWarnings("serial")
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,126 @@
+package com.healthcare.media;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Flyway migration 6: moves photos and documents held inline in TEXT columns (base64 or data URIs) into
+ * the MediaStore and leaves the content hash in their place. Values without any data, such as the bare
+ * file names older clients sent, do not fit the hash column; they are copied to legacy_media_values,
+ * keyed by table, column and row id, before the column is cleared. V7 then narrows the columns.
+ */
+@Component
+public class InlineMediaMigration implements JavaMigration {
+    private static final Logger log = LoggerFactory.getLogger(InlineMediaMigration.class);
+    private static final int BATCH_SIZE = 100;
+
+    private final MediaStore mediaStore;
+
+    public InlineMediaMigration(MediaStore mediaStore) {
+        this.mediaStore = mediaStore;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("6");
+    }
+
+    @Override
+    public String getDescription() {
+        return "move inline media to media store";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE legacy_media_values ("
+                + "table_name VARCHAR(64) NOT NULL, "
+                + "column_name VARCHAR(64) NOT NULL, "
+                + "row_id BIGINT NOT NULL, "
+                + "original_value TEXT NOT NULL, "
+                + "PRIMARY KEY (table_name, column_name, row_id))");
+        }
+        migrateColumn(connection, "doctors", "profile_photo");
+        migrateColumn(connection, "doctors", "photo_path");
+        migrateColumn(connection, "patient", "photo_path");
+        migrateColumn(connection, "patient", "document_path");
+    }
+
+    private void migrateColumn(Connection connection, String table, String column) throws Exception {
+        int stored = 0;
+        int kept = 0;
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement("UPDATE " + table + " SET " + column + " = ? WHERE id = ?");
+             PreparedStatement keep = connection.prepareStatement(
+                 "INSERT INTO legacy_media_values (table_name, column_name, row_id, original_value) VALUES (?, ?, ?, ?)")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery("SELECT id, " + column + " FROM " + table + " WHERE " + column + " IS NOT NULL")) {
+                while (rows.next()) {
+                    long id = rows.getLong(1);
+                    String value = rows.getString(2);
+                    if (MediaStore.isHash(value)) {
+                        continue;
+                    }
+                    byte[] data = MediaStore.decodeInline(value);
+                    String hash = data != null && data.length > 0 ? mediaStore.store(data) : null;
+                    if (hash != null) {
+                        stored++;
+                    } else {
+                        kept++;
+                        keep.setString(1, table);
+                        keep.setString(2, column);
+                        keep.setLong(3, id);
+                        keep.setString(4, value);
+                        keep.addBatch();
+                    }
+                    update.setString(1, hash);
+                    update.setLong(2, id);
+                    update.addBatch();
+                    if ((stored + kept) % BATCH_SIZE == 0) {
+                        keep.executeBatch();
+                        update.executeBatch();
+                    }
+                }
+            }
+            keep.executeBatch();
+            update.executeBatch();
+        }
+        if (stored > 0) {
+            log.info("Moved {} inline values of {}.{} to the media store", stored, table, column);
+        }
+        if (kept > 0) {
+            log.warn("{} values of {}.{} hold no decodable data; cleared them and kept the originals in legacy_media_values",
+                kept, table, column);
+        }
+    }
+}
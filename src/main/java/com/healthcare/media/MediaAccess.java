@@ -0,0 +1,95 @@
+package com.healthcare.media;
+
+import com.healthcare.exception.InvalidRequestException;
+import com.healthcare.model.MediaUpload;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MediaUploadRepository;
+import com.healthcare.repository.PatientRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Decides who may read a blob and which blobs an account may attach to its profile.
+ *
+ * Doctor photos back the public directory and are readable by anyone. Everything else (patient photos
+ * and documents, uploads not attached yet) is readable by administrators, by its uploader, by the patient
+ * whose profile references it and by doctors that patient has an appointment with. Uploads are recorded
+ * per account, so a profile can only point at a hash its owner uploaded, not at one it merely knows.
+ */
+@Component
+public class MediaAccess {
+    private final MediaStore mediaStore;
+    private final MediaUploadRepository mediaUploadRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+
+    public MediaAccess(MediaStore mediaStore,
+                       MediaUploadRepository mediaUploadRepository,
+                       DoctorRepository doctorRepository,
+                       PatientRepository patientRepository) {
+        this.mediaStore = mediaStore;
+        this.mediaUploadRepository = mediaUploadRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+    }
+
+    public void recordUpload(String hash, String role, Long userId) {
+        if (role == null || userId == null || isUploadedBy(hash, role, userId)) {
+            return;
+        }
+        try {
+            mediaUploadRepository.save(new MediaUpload(null, hash, role, userId, null));
+        } catch (DataIntegrityViolationException e) {
+            // The same account uploaded the same content concurrently; one row is enough
+        }
+    }
+
+    public boolean isUploadedBy(String hash, String role, Long userId) {
+        return role != null && userId != null && mediaUploadRepository.existsByHashAndOwnerRoleAndOwnerId(hash, role, userId);
+    }
+
+    public boolean isPublic(String hash) {
+        return doctorRepository.existsByProfilePhotoOrPhotoPath(hash, hash);
+    }
+
+    public boolean canRead(String hash, String role, Long userId) {
+        if (role == null || userId == null) {
+            return false;
+        }
+        if ("ADMIN".equals(role) || isUploadedBy(hash, role, userId)) {
+            return true;
+        }
+        if ("PATIENT".equals(role)) {
+            return patientRepository.existsMediaOfPatient(hash, userId);
+        }
+        if ("DOCTOR".equals(role)) {
+            return patientRepository.existsMediaOfPatientOfDoctor(hash, userId);
+        }
+        return false;
+    }
+
+    /**
+     * Turns the value a client sent for a media field into a hash. Inline base64 is stored and recorded
+     * as the caller's upload; a hash is accepted when it is the field's current value or the caller
+     * uploaded it; null or blank clears the field.
+     */
+    public String storeReference(String value, String current, String role, Long userId) throws IOException {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        if (value.equals(current)) {
+            return value;
+        }
+        if (MediaStore.isHash(value)) {
+            if (mediaStore.find(value).isPresent() && isUploadedBy(value, role, userId)) {
+                return value;
+            }
+            throw new InvalidRequestException("Media must be a hash you uploaded or base64-encoded data");
+        }
+        String hash = mediaStore.storeInline(value);
+        recordUpload(hash, role, userId);
+        return hash;
+    }
+}
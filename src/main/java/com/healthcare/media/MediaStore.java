@@ -0,0 +1,245 @@
+package com.healthcare.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for photos and documents on the local filesystem. Each blob is kept once,
+ * under the hex SHA-256 of its bytes (root/ab/cd/abcd...), and entity columns hold only that hash.
+ *
+ * Uploads are written to a temporary file, synced and then renamed into place, so a blob path either
+ * does not exist or holds the complete content. Identical uploads resolve to the same file.
+ * Derived variants such as thumbnails sit next to their original as <hash>_<size>.
+ */
+@Component
+public class MediaStore {
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern DATA_URI = Pattern.compile("^data:[^,]*;base64,(.*)$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern BASE64 = Pattern.compile("[A-Za-z0-9+/]+={0,2}");
+    // Bare base64 is only recognized from this length on, so that short file names are not decoded
+    private static final int MIN_BARE_BASE64_LENGTH = 128;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path root;
+    private final Path incoming;
+    private final long maxBytes;
+
+    public MediaStore(@Value("${app.media.root:data/media}") String root,
+                      @Value("${app.media.max-bytes:20971520}") long maxBytes) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+        this.maxBytes = maxBytes;
+        Files.createDirectories(incoming);
+    }
+
+    /**
+     * Stores an upload and returns its hash. Rejects empty uploads and those over app.media.max-bytes.
+     */
+    public String store(InputStream in) throws IOException {
+        return write(in, maxBytes);
+    }
+
+    /**
+     * Stores content that is already in memory, without the upload size limit.
+     */
+    public String store(byte[] data) throws IOException {
+        return write(new ByteArrayInputStream(data), Long.MAX_VALUE);
+    }
+
+    /**
+     * Stores media a client sent inline, as bare base64 or a data URI, and returns its hash; null or blank
+     * returns null. References to blobs that are already stored go through MediaAccess.storeReference.
+     */
+    public String storeInline(String value) throws IOException {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        byte[] data = decodeInline(value);
+        if (data == null) {
+            throw new RuntimeException("Media must be base64-encoded data");
+        }
+        if (data.length > maxBytes) {
+            throw new RuntimeException("Media exceeds the maximum size of " + maxBytes + " bytes");
+        }
+        return store(data);
+    }
+
+    public Optional<Path> find(String hash) {
+        if (!isHash(hash)) {
+            return Optional.empty();
+        }
+        Path path = pathOf(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public Optional<Path> findVariant(String hash, int size) {
+        if (!isHash(hash)) {
+            return Optional.empty();
+        }
+        Path path = variantPathOf(hash, size);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public void storeVariant(String hash, int size, byte[] data) throws IOException {
+        Path temp = Files.createTempFile(incoming, "variant-", ".part");
+        try {
+            writeSynced(temp, new ByteArrayInputStream(data), Long.MAX_VALUE, null);
+            moveIntoPlace(temp, variantPathOf(hash, size));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Guesses the content type from the leading bytes; the store keeps no metadata besides the content.
+     */
+    public String contentType(Path path) throws IOException {
+        byte[] head = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(path)) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        if (read >= 3 && (head[0] & 0xff) == 0xff && (head[1] & 0xff) == 0xd8 && (head[2] & 0xff) == 0xff) {
+            return "image/jpeg";
+        }
+        if (read >= 8 && (head[0] & 0xff) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "image/png";
+        }
+        if (read >= 4 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return "image/gif";
+        }
+        if (read >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        if (read >= 4 && head[0] == '%' && head[1] == 'P' && head[2] == 'D' && head[3] == 'F') {
+            return "application/pdf";
+        }
+        return "application/octet-stream";
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    public static String urlOf(String hash) {
+        return hash != null ? "/api/media/" + hash : null;
+    }
+
+    public static String thumbnailUrlOf(String hash, int size) {
+        return hash != null ? "/api/media/" + hash + "?size=" + size : null;
+    }
+
+    /**
+     * Decodes a data URI or a bare base64 string; returns null when the value does not hold inline data.
+     */
+    public static byte[] decodeInline(String value) {
+        String encoded;
+        Matcher dataUri = DATA_URI.matcher(value.trim());
+        if (dataUri.matches()) {
+            encoded = dataUri.group(1);
+        } else if (value.length() >= MIN_BARE_BASE64_LENGTH) {
+            encoded = value;
+        } else {
+            return null;
+        }
+        encoded = encoded.replaceAll("\\s", "");
+        if (encoded.length() % 4 != 0 || !BASE64.matcher(encoded).matches()) {
+            return null;
+        }
+        return Base64.getDecoder().decode(encoded);
+    }
+
+    private String write(InputStream in, long limit) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            if (writeSynced(temp, in, limit, digest) == 0) {
+                throw new RuntimeException("Media is empty");
+            }
+            String hash = toHex(digest.digest());
+            Path target = pathOf(hash);
+            if (!Files.exists(target)) {
+                moveIntoPlace(temp, target);
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static long writeSynced(Path file, InputStream in, long limit, MessageDigest digest) throws IOException {
+        long size = 0;
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                size += n;
+                if (size > limit) {
+                    throw new RuntimeException("Media exceeds the maximum size of " + limit + " bytes");
+                }
+                if (digest != null) {
+                    digest.update(buffer, 0, n);
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, n);
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+            }
+            out.force(true);
+        }
+        return size;
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // the same content was stored concurrently
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Path variantPathOf(String hash, int size) {
+        return pathOf(hash).resolveSibling(hash + "_" + size);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
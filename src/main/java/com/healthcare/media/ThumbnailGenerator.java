@@ -0,0 +1,199 @@
+package com.healthcare.media;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates square thumbnails of uploaded photos in the background and stores them as MediaStore
+ * variants. Work runs on a small fixed pool with a bounded queue; when the queue is full the request is
+ * dropped, and the next request for a missing thumbnail submits it again.
+ *
+ * Blobs that turn out to have no thumbnails (content ImageIO cannot read or fails to decode, or images
+ * over the pixel limit) are remembered in a bounded set, so that requests for them are not queued over and over.
+ */
+@Component
+public class ThumbnailGenerator {
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailGenerator.class);
+    // Larger images are not decoded at all, which keeps a crafted upload from exhausting the heap
+    private static final long MAX_SOURCE_PIXELS = 50_000_000L;
+
+    private final MediaStore mediaStore;
+    private final int[] sizes;
+    private final ThreadPoolExecutor workers;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Boolean> unsupported;
+
+    public ThumbnailGenerator(MediaStore mediaStore,
+                              @Value("${app.media.thumbnail-sizes:64,128,256}") int[] sizes,
+                              @Value("${app.media.thumbnail-threads:2}") int threads,
+                              @Value("${app.media.thumbnail-queue-capacity:256}") int queueCapacity,
+                              @Value("${app.media.thumbnail-unsupported-capacity:10000}") long unsupportedCapacity) {
+        this.mediaStore = mediaStore;
+        this.sizes = Arrays.stream(sizes).sorted().toArray();
+        this.unsupported = Caffeine.newBuilder().maximumSize(unsupportedCapacity).build();
+        // Thumbnails are encoded in memory; without this ImageIO buffers them in temp files
+        ImageIO.setUseCache(false);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public boolean isSupportedSize(int size) {
+        return Arrays.binarySearch(sizes, size) >= 0;
+    }
+
+    /**
+     * True once generation found that the blob cannot have thumbnails.
+     */
+    public boolean isUnsupported(String hash) {
+        return unsupported.getIfPresent(hash) != null;
+    }
+
+    /**
+     * Queues thumbnail generation for a stored photo; does nothing if it is already queued or known to
+     * be unsupported.
+     */
+    public void submit(String hash) {
+        if (hash == null || isUnsupported(hash) || !pending.add(hash)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    generate(hash);
+                } catch (Exception e) {
+                    log.warn("Thumbnail generation failed for {}: {}", hash, e.getMessage());
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+            log.debug("Thumbnail queue is full; skipped {}", hash);
+        }
+    }
+
+    private void generate(String hash) throws IOException {
+        Optional<Path> original = mediaStore.find(hash);
+        if (!original.isPresent()) {
+            return;
+        }
+        BufferedImage source;
+        try {
+            source = read(original.get(), sizes[sizes.length - 1]);
+        } catch (IOException e) {
+            // Content never changes under a hash, so a file that failed to decode will keep failing
+            log.warn("Cannot decode {} for thumbnails: {}", hash, e.getMessage());
+            source = null;
+        }
+        if (source == null) {
+            unsupported.put(hash, Boolean.TRUE);
+            return;
+        }
+        for (int size : sizes) {
+            if (!mediaStore.findVariant(hash, size).isPresent()) {
+                mediaStore.storeVariant(hash, size, encode(scaleToSquare(source, size)));
+            }
+        }
+    }
+
+    /**
+     * Decodes the image, subsampling while reading when it is far larger than the biggest thumbnail.
+     * Returns null for content ImageIO cannot read, such as PDF documents.
+     */
+    private static BufferedImage read(Path path, int largestSize) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    log.warn("Skipping thumbnails for {}: {}x{} exceeds the pixel limit", path.getFileName(), width, height);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.min(width, height) / (largestSize * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Center-crops to a square and scales down in halving steps, which keeps bilinear filtering smooth.
+     */
+    private static BufferedImage scaleToSquare(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        boolean alpha = source.getColorModel().hasAlpha();
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source.getSubimage((source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+        int currentSide = side;
+        do {
+            int next = Math.max(size, currentSide / 2);
+            if (currentSide <= size) {
+                next = size;
+            }
+            BufferedImage scaled = new BufferedImage(next, next, type);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, next, next, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = scaled;
+            currentSide = next;
+        } while (currentSide != size);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, image.getColorModel().hasAlpha() ? "png" : "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package com.healthcare.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maintains the http.server.requests.in.flight gauge: requests currently inside a controller method, per
+ * handler and role. One gauge is registered the first time a handler/role pair is seen.
+ */
+@Component
+public class InFlightRequestsInterceptor implements HandlerInterceptor {
+    private static final String GAUGE = "http.server.requests.in.flight";
+    private static final String COUNTER_ATTRIBUTE = InFlightRequestsInterceptor.class.getName() + ".counter";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public InFlightRequestsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String handlerName = RequestMetrics.handler(handler);
+        String role = RequestMetrics.role(request);
+        AtomicInteger counter = inFlight.computeIfAbsent(handlerName + ' ' + role, key -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder(GAUGE, value, AtomicInteger::get)
+                .description("Requests currently being handled")
+                .tag(RequestMetrics.HANDLER_TAG, handlerName)
+                .tag(RequestMetrics.ROLE_TAG, role)
+                .register(meterRegistry);
+            return value;
+        });
+        counter.incrementAndGet();
+        // Decrement the same counter on completion even if the role attribute changes in between
+        request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object counter = request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter instanceof AtomicInteger) {
+            ((AtomicInteger) counter).decrementAndGet();
+            request.removeAttribute(COUNTER_ATTRIBUTE);
+        }
+    }
+}
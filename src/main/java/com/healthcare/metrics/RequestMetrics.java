@@ -0,0 +1,45 @@
+package com.healthcare.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Tag values shared by the request metrics: the caller's role, taken from the "role" attribute JwtFilter
+ * sets from the token, and the controller method that handled the request. Both are bounded so they are
+ * safe as Prometheus labels.
+ */
+public final class RequestMetrics {
+    public static final String ROLE_TAG = "role";
+    public static final String HANDLER_TAG = "handler";
+
+    private static final String ANONYMOUS = "ANONYMOUS";
+    private static final String OTHER = "OTHER";
+    private static final String NO_HANDLER = "none";
+
+    private RequestMetrics() {
+    }
+
+    public static String role(HttpServletRequest request) {
+        Object role = request.getAttribute("role");
+        if (role == null) {
+            return ANONYMOUS;
+        }
+        switch (role.toString()) {
+            case "PATIENT":
+            case "DOCTOR":
+            case "ADMIN":
+                return role.toString();
+            default:
+                return OTHER;
+        }
+    }
+
+    public static String handler(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return NO_HANDLER;
+    }
+}
@@ -0,0 +1,30 @@
+package com.healthcare.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Adds the caller's role and the handling controller method to Spring Boot's http.server.requests timer,
+ * which already carries method, uri, status and outcome.
+ */
+@Component
+public class RequestMetricsTagsContributor implements WebMvcTagsContributor {
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable exception) {
+        return Tags.of(
+            RequestMetrics.ROLE_TAG, RequestMetrics.role(request),
+            RequestMetrics.HANDLER_TAG, RequestMetrics.handler(handler)
+        );
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+}
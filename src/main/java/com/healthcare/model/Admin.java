@@ -1,12 +1,17 @@
 package com.healthcare.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.healthcare.config.EntityCacheConfig;
 import lombok.Data;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.ADMINS_REGION)
 @Table(name = "admin")
 public class Admin {
     @Id
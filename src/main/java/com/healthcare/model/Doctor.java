@@ -1,7 +1,10 @@
 package com.healthcare.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.healthcare.config.EntityCacheConfig;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -9,6 +12,8 @@ import java.time.LocalDateTime;
  * Doctor entity representing a medical professional in the system.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.DOCTORS_REGION)
 @Table(name = "doctors")
 @Data
 @NoArgsConstructor
@@ -16,8 +21,10 @@ import java.time.LocalDateTime;
 @ToString(exclude = {"password"})
 public class Doctor {
     
+    // Ids come from a pooled sequence stepping by 50 so that bulk imports can batch their inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctors_id_seq")
+    @SequenceGenerator(name = "doctors_id_seq", sequenceName = "doctors_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "full_name", nullable = false)
@@ -49,8 +56,19 @@ public class Doctor {
     private String specialty;
     private String experience;
     
+    // Rating aggregates (average, count, sum) are only ever changed by atomic UPDATE statements in
+    // DoctorRepository, never by saving the entity, so concurrent profile saves cannot overwrite them.
+    @Column(updatable = false)
     private Double rating;
     
+    @Column(name = "review_count", updatable = false)
+    @JsonProperty("reviewCount")
+    private Long reviewCount = 0L;
+    
+    @Column(name = "rating_sum", updatable = false)
+    @JsonProperty("ratingSum")
+    private Long ratingSum = 0L;
+    
     @Column(name = "consultation_fee")
     @JsonProperty("consultationFee")
     private Double consultationFee;
@@ -67,7 +85,8 @@ public class Doctor {
     @JsonProperty("licensePath")
     private String licensePath;
     
-    @Column(name = "photo_path", columnDefinition = "TEXT")
+    // Media columns hold MediaStore hashes; the content is served from /api/media/{hash}
+    @Column(name = "photo_path", length = 64)
     @JsonProperty("photoPath")
     private String photoPath;
     
@@ -78,7 +97,7 @@ public class Doctor {
     @JsonProperty("clinicAddress")
     private String clinicAddress;
     
-    @Column(name = "profile_photo", columnDefinition = "TEXT")
+    @Column(name = "profile_photo", length = 64)
     @JsonProperty("profilePhoto")
     private String profilePhoto;
     
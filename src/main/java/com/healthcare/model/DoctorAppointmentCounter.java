@@ -0,0 +1,44 @@
+package com.healthcare.model;
+
+import javax.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Per-doctor appointment totals by status, maintained on every status transition
+ * so the doctor dashboard stats are a single primary-key read.
+ */
+@Entity
+@Table(name = "doctor_appointment_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorAppointmentCounter {
+    @Id
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
+    @Column(nullable = false)
+    private Long total = 0L;
+
+    @Column(nullable = false)
+    private Long pending = 0L;
+
+    @Column(nullable = false)
+    private Long confirmed = 0L;
+
+    @Column(nullable = false)
+    private Long completed = 0L;
+
+    @Column(nullable = false)
+    private Long cancelled = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
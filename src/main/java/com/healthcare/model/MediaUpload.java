@@ -0,0 +1,37 @@
+package com.healthcare.model;
+
+import javax.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Records that an account uploaded a blob to the MediaStore; one row per hash and uploader.
+ */
+@Entity
+@Table(name = "media_uploads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Column(name = "owner_role", nullable = false, length = 16)
+    private String ownerRole;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -1,7 +1,10 @@
 package com.healthcare.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.healthcare.config.EntityCacheConfig;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -9,6 +12,8 @@ import java.time.LocalDateTime;
  * Patient entity representing a patient in the system.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.PATIENTS_REGION)
 @Table(name = "patient")
 @Data
 @NoArgsConstructor
@@ -17,7 +22,8 @@ import java.time.LocalDateTime;
 public class Patient {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patient_id_seq")
+    @SequenceGenerator(name = "patient_id_seq", sequenceName = "patient_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "full_name", nullable = false)
@@ -64,11 +70,12 @@ public class Patient {
     @JsonProperty("emergency_contact_number")
     private String emergencyContactNumber;
     
-    @Column(name = "document_path")
+    // Media columns hold MediaStore hashes; the content is served from /api/media/{hash}
+    @Column(name = "document_path", length = 64)
     @JsonProperty("document_path")
     private String documentPath;
     
-    @Column(name = "photo_path", columnDefinition = "TEXT")
+    @Column(name = "photo_path", length = 64)
     @JsonProperty("photo_path")
     private String photoPath;
     
@@ -2,8 +2,6 @@ package com.healthcare.repository;
 
 import com.healthcare.model.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -12,6 +10,8 @@ public interface AdminRepository extends JpaRepository<Admin, Long> {
     Optional<Admin> findByMobile(String mobile);
     boolean existsByEmail(String email);
     
-    @Query("SELECT a FROM Admin a WHERE a.id = :id AND a.isActive = true")
-    Optional<Admin> findByIdAndIsActiveTrue(@Param("id") Long id);
+    // Resolved through findById rather than a query so that it is served from the second-level cache
+    default Optional<Admin> findByIdAndIsActiveTrue(Long id) {
+        return findById(id).filter(admin -> Boolean.TRUE.equals(admin.getIsActive()));
+    }
 }
@@ -1,6 +1,9 @@
 package com.healthcare.repository;
 
+import com.healthcare.dto.DoctorAppointmentView;
+import com.healthcare.dto.PatientAppointmentView;
 import com.healthcare.model.Appointment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,26 +16,36 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findByDoctorIdOrderByAppointmentDatetimeDesc(Long doctorId);
     List<Appointment> findByPatientIdOrderByAppointmentDatetimeDesc(Long patientId);
     
+    // Keyset page of a doctor's appointments joined with patient summary columns, newest first.
+    // Time bounds and cursor are always bound (callers substitute open sentinels) so the predicate stays index-friendly.
+    @Query("SELECT new com.healthcare.dto.DoctorAppointmentView(a.id, a.appointmentDatetime, a.reason, a.status, a.createdAt, p.fullName, p.email, p.mobile, p.bloodGroup, p.gender) " +
+           "FROM Appointment a LEFT JOIN Patient p ON p.id = a.patientId " +
+           "WHERE a.doctorId = :doctorId AND (:status IS NULL OR a.status = :status) " +
+           "AND a.appointmentDatetime >= :from AND a.appointmentDatetime < :to " +
+           "AND (a.appointmentDatetime < :cursorDatetime OR (a.appointmentDatetime = :cursorDatetime AND a.id < :cursorId)) " +
+           "ORDER BY a.appointmentDatetime DESC, a.id DESC")
+    List<DoctorAppointmentView> findDoctorAppointmentPage(@Param("doctorId") Long doctorId, @Param("status") String status, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("cursorDatetime") LocalDateTime cursorDatetime, @Param("cursorId") Long cursorId, Pageable pageable);
+    
+    // Keyset page of a patient's appointments joined with doctor details and a rating-exists flag, newest first.
+    @Query("SELECT new com.healthcare.dto.PatientAppointmentView(a.id, a.appointmentDatetime, a.reason, a.status, a.createdAt, d.fullName, d.specialty, d.clinicName, d.mobile, d.availableDays, d.availableFrom, d.availableTo, " +
+           "CASE WHEN EXISTS (SELECT r.id FROM Rating r WHERE r.appointmentId = a.id) THEN 1 ELSE 0 END) " +
+           "FROM Appointment a LEFT JOIN Doctor d ON d.id = a.doctorId " +
+           "WHERE a.patientId = :patientId AND (:status IS NULL OR a.status = :status) " +
+           "AND (a.appointmentDatetime < :cursorDatetime OR (a.appointmentDatetime = :cursorDatetime AND a.id < :cursorId)) " +
+           "ORDER BY a.appointmentDatetime DESC, a.id DESC")
+    List<PatientAppointmentView> findPatientAppointmentPage(@Param("patientId") Long patientId, @Param("status") String status, @Param("cursorDatetime") LocalDateTime cursorDatetime, @Param("cursorId") Long cursorId, Pageable pageable);
+    
     @Query("SELECT a FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentDatetime = :datetime AND a.status != 'CANCELLED'")
     Optional<Appointment> findByDoctorIdAndDatetimeNotCancelled(@Param("doctorId") Long doctorId, @Param("datetime") LocalDateTime datetime);
     
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = :doctorId")
-    Long countByDoctorId(@Param("doctorId") Long doctorId);
-    
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = :doctorId AND a.status = 'PENDING'")
-    Long countPendingByDoctorId(@Param("doctorId") Long doctorId);
-    
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = :doctorId AND a.status = 'CONFIRMED'")
-    Long countConfirmedByDoctorId(@Param("doctorId") Long doctorId);
-    
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = :doctorId AND a.status = 'COMPLETED'")
-    Long countCompletedByDoctorId(@Param("doctorId") Long doctorId);
+    @Query("SELECT a.appointmentDatetime FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentDatetime >= :start AND a.appointmentDatetime < :end AND a.status != 'CANCELLED'")
+    List<LocalDateTime> findBookedDatetimes(@Param("doctorId") Long doctorId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
     
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = :doctorId AND a.status = 'CANCELLED'")
-    Long countCancelledByDoctorId(@Param("doctorId") Long doctorId);
+    @Query("SELECT a.status, COUNT(a) FROM Appointment a WHERE a.doctorId = :doctorId GROUP BY a.status")
+    List<Object[]> countByStatusForDoctor(@Param("doctorId") Long doctorId);
     
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = :doctorId AND DATE(a.appointmentDatetime) = CURRENT_DATE AND a.status = 'CONFIRMED'")
-    Long countTodayByDoctorId(@Param("doctorId") Long doctorId);
+    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = :doctorId AND a.status = 'CONFIRMED' AND a.appointmentDatetime >= :start AND a.appointmentDatetime < :end")
+    Long countConfirmedByDoctorIdBetween(@Param("doctorId") Long doctorId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
     
     @Query("SELECT a FROM Appointment a WHERE a.doctorId = :doctorId AND a.createdAt >= :createdAt ORDER BY a.createdAt DESC")
     List<Appointment> findByDoctorIdAndCreatedAtAfterOrderByCreatedAtDesc(@Param("doctorId") Long doctorId, @Param("createdAt") LocalDateTime createdAt);
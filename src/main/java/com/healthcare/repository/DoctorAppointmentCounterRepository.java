@@ -0,0 +1,31 @@
+package com.healthcare.repository;
+
+import com.healthcare.model.DoctorAppointmentCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface DoctorAppointmentCounterRepository extends JpaRepository<DoctorAppointmentCounter, Long> {
+    
+    // Serializes seeding a doctor's counter row with transitions that find no row to update. The doctor row
+    // is locked because the counter row may not exist yet; the lock is held until the transaction ends
+    @Query(value = "SELECT id FROM doctors WHERE id = :doctorId FOR UPDATE", nativeQuery = true)
+    List<Long> lockDoctor(@Param("doctorId") Long doctorId);
+    
+    @Modifying
+    @Query("UPDATE DoctorAppointmentCounter c SET c.total = c.total + :total, c.pending = c.pending + :pending, c.confirmed = c.confirmed + :confirmed, c.completed = c.completed + :completed, c.cancelled = c.cancelled + :cancelled, c.updatedAt = CURRENT_TIMESTAMP WHERE c.doctorId = :doctorId")
+    int applyDelta(@Param("doctorId") Long doctorId, @Param("total") long total, @Param("pending") long pending, @Param("confirmed") long confirmed, @Param("completed") long completed, @Param("cancelled") long cancelled);
+    
+    @Modifying
+    @Query("UPDATE DoctorAppointmentCounter c SET " +
+           "c.total = (SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = c.doctorId), " +
+           "c.pending = (SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = c.doctorId AND a.status = 'PENDING'), " +
+           "c.confirmed = (SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = c.doctorId AND a.status = 'CONFIRMED'), " +
+           "c.completed = (SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = c.doctorId AND a.status = 'COMPLETED'), " +
+           "c.cancelled = (SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = c.doctorId AND a.status = 'CANCELLED'), " +
+           "c.updatedAt = CURRENT_TIMESTAMP")
+    int recomputeAll();
+}
@@ -1,25 +1,73 @@
 package com.healthcare.repository;
 
+import com.healthcare.dto.DoctorExportRow;
+import com.healthcare.dto.DoctorListingRow;
+import com.healthcare.dto.TableVersion;
 import com.healthcare.model.Doctor;
+import com.healthcare.search.DoctorSearchDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, DoctorRepositoryCustom {
     Optional<Doctor> findByEmail(String email);
     Optional<Doctor> findByMobile(String mobile);
     boolean existsByEmail(String email);
     boolean existsByMobile(String mobile);
     
+    @Query("SELECT d.email FROM Doctor d WHERE d.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT d.registrationNumber FROM Doctor d WHERE d.registrationNumber IN :registrationNumbers")
+    List<String> findExistingRegistrationNumbers(@Param("registrationNumbers") Collection<String> registrationNumbers);
+    
     @Query("SELECT d FROM Doctor d WHERE d.approved = true AND d.suspended = false AND d.status = 'ACTIVE'")
     List<Doctor> findActiveDoctors();
     
     @Query("SELECT d FROM Doctor d WHERE d.approved = true AND d.suspended = false AND d.status = 'ACTIVE' AND (:specialty IS NULL OR LOWER(d.specialty) LIKE LOWER(CONCAT('%', :specialty, '%'))) AND (:city IS NULL OR LOWER(TRIM(d.city)) LIKE LOWER(CONCAT('%', :city, '%'))) AND (:search IS NULL OR LOWER(d.fullName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(d.specialty) LIKE LOWER(CONCAT('%', :search, '%'))) AND ((:patientAddress IS NULL AND :patientLocation IS NULL AND :patientCity IS NULL) OR LOWER(d.clinicAddress) LIKE LOWER(CONCAT('%', :patientAddress, '%')) OR LOWER(d.location) LIKE LOWER(CONCAT('%', :patientAddress, '%')) OR LOWER(d.city) LIKE LOWER(CONCAT('%', :patientAddress, '%')) OR LOWER(d.clinicAddress) LIKE LOWER(CONCAT('%', :patientLocation, '%')) OR LOWER(d.location) LIKE LOWER(CONCAT('%', :patientLocation, '%')) OR LOWER(d.city) LIKE LOWER(CONCAT('%', :patientLocation, '%')) OR LOWER(d.clinicAddress) LIKE LOWER(CONCAT('%', :patientCity, '%')) OR LOWER(d.location) LIKE LOWER(CONCAT('%', :patientCity, '%')) OR LOWER(d.city) LIKE LOWER(CONCAT('%', :patientCity, '%')))")
     List<Doctor> findActiveDoctorsWithFilters(@Param("specialty") String specialty, @Param("city") String city, @Param("search") String search, @Param("patientAddress") String patientAddress, @Param("patientLocation") String patientLocation, @Param("patientCity") String patientCity);
     
+    @Query("SELECT new com.healthcare.search.DoctorSearchDocument(d.id, d.specialty, d.city, d.fullName, d.clinicAddress, d.location) FROM Doctor d WHERE d.approved = true AND d.suspended = false AND d.status = 'ACTIVE'")
+    List<DoctorSearchDocument> findActiveSearchDocuments();
+    
+    default Optional<Doctor> findActiveDoctorById(Long id) {
+        return findById(id).filter(doctor -> Boolean.TRUE.equals(doctor.getApproved())
+            && !Boolean.TRUE.equals(doctor.getSuspended())
+            && "ACTIVE".equals(doctor.getStatus()));
+    }
+    
+    // Only the columns of a directory card; the entities are never needed to list doctors by id
+    @Query("SELECT new com.healthcare.dto.DoctorListingRow(d.id, d.fullName, d.email, d.mobile, d.specialty, d.degree, d.experience, d.clinicName, d.clinicAddress, d.city, d.state, d.availableDays, d.availableFrom, d.availableTo, d.languages, d.profilePhoto, d.consultationFee, d.rating, d.reviewCount) FROM Doctor d WHERE d.id IN :ids AND d.approved = true AND d.suspended = false AND d.status = 'ACTIVE'")
+    List<DoctorListingRow> findActiveListingRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.healthcare.dto.DoctorExportRow(d.id, d.fullName, d.email, d.mobile, d.registrationNumber, d.council, d.degree, d.specialty, d.clinicName, d.city, d.state, d.approved, d.suspended, d.status, d.createdAt, d.updatedAt) FROM Doctor d ORDER BY d.id")
+    Stream<DoctorExportRow> streamExportRows();
+    
+    @Query("SELECT new com.healthcare.dto.TableVersion(COUNT(d), MAX(d.updatedAt)) FROM Doctor d")
+    TableVersion findTableVersion();
+    
     @Query("SELECT d FROM Doctor d WHERE d.id = :id")
     Optional<Doctor> findByIdWithDetails(@Param("id") Long id);
-}
\ No newline at end of file
+    
+    boolean existsByProfilePhotoOrPhotoPath(String profilePhoto, String photoPath);
+
+    @Query("SELECT MAX(d.id) FROM Doctor d")
+    Long findMaxId();
+    
+    // Only rows in [fromId, toId) whose aggregates disagree with the ratings table are rewritten; the return
+    // value is the drift count
+    @Modifying
+    @Query("UPDATE Doctor d SET d.rating = COALESCE((SELECT AVG(r.rating) FROM Rating r WHERE r.doctorId = d.id), 0.0), d.reviewCount = (SELECT COUNT(r) FROM Rating r WHERE r.doctorId = d.id), d.ratingSum = (SELECT COALESCE(SUM(r.rating), 0) FROM Rating r WHERE r.doctorId = d.id), d.updatedAt = :updatedAt WHERE d.id >= :fromId AND d.id < :toId AND (d.reviewCount IS NULL OR d.ratingSum IS NULL OR d.rating IS NULL OR d.reviewCount <> (SELECT COUNT(r) FROM Rating r WHERE r.doctorId = d.id) OR d.ratingSum <> (SELECT COALESCE(SUM(r.rating), 0) FROM Rating r WHERE r.doctorId = d.id) OR ABS(d.rating * d.reviewCount - d.ratingSum) > 0.0001 * d.reviewCount OR (d.reviewCount = 0 AND d.rating <> 0))")
+    int recomputeRatingTotals(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("updatedAt") LocalDateTime updatedAt);
+}
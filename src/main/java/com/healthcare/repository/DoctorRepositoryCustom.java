@@ -0,0 +1,21 @@
+package com.healthcare.repository;
+
+import com.healthcare.dto.AdminDoctorSummary;
+import com.healthcare.dto.KeysetSort;
+import com.healthcare.dto.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DoctorRepositoryCustom {
+    /**
+     * One page of the admin doctor listing. Null filters are ignored; cursor may be null for the first page.
+     */
+    List<AdminDoctorSummary> findAdminDoctorPage(Boolean approved, Boolean suspended, String status, KeysetSort sort, PageCursor cursor, int limit);
+
+    /**
+     * Adds one rating to the doctor's running sum and count and rewrites the average, in a single UPDATE.
+     * Only this doctor's second-level cache entry is evicted, not the whole doctors region.
+     */
+    int incrementRatingTotals(Long doctorId, Long rating, LocalDateTime updatedAt);
+}
@@ -0,0 +1,97 @@
+package com.healthcare.repository;
+
+import com.healthcare.dto.AdminDoctorSummary;
+import com.healthcare.dto.KeysetSort;
+import com.healthcare.dto.PageCursor;
+import com.healthcare.model.Doctor;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DoctorRepositoryCustomImpl implements DoctorRepositoryCustom {
+    // Query space of the rating UPDATE. It names no mapped table, so Hibernate does not evict the whole
+    // Doctor region after the statement; the rated doctor's entry is evicted explicitly instead
+    private static final String RATING_TOTALS_SPACE = "doctor_rating_totals";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AdminDoctorSummary> findAdminDoctorPage(Boolean approved, Boolean suspended, String status, KeysetSort sort, PageCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AdminDoctorSummary> query = cb.createQuery(AdminDoctorSummary.class);
+        Root<Doctor> doctor = query.from(Doctor.class);
+        Path<Long> id = doctor.get("id");
+        Path<LocalDateTime> createdAt = doctor.get("createdAt");
+
+        query.select(cb.construct(AdminDoctorSummary.class,
+            id, doctor.get("fullName"), doctor.get("email"), doctor.get("mobile"), doctor.get("specialty"),
+            doctor.get("approved"), doctor.get("suspended"), doctor.get("status"), createdAt));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (approved != null) {
+            predicates.add(cb.equal(doctor.get("approved"), approved));
+        }
+        if (suspended != null) {
+            predicates.add(cb.equal(doctor.get("suspended"), suspended));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(doctor.get("status"), status));
+        }
+        if (cursor != null) {
+            predicates.add(KeysetCriteria.after(cb, id, createdAt, sort, cursor));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(KeysetCriteria.orderBy(cb, id, createdAt, sort));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int incrementRatingTotals(Long doctorId, Long rating, LocalDateTime updatedAt) {
+        // Every SET expression reads the row as it was before the UPDATE, so the average is computed from the
+        // new sum and count spelled out in full rather than from the columns being assigned. Bulk updates skip
+        // @PreUpdate, so updated_at is set here to keep the directory ETag moving
+        int updated = entityManager.createNativeQuery("UPDATE doctors SET"
+                + " review_count = COALESCE(review_count, 0) + 1,"
+                + " rating_sum = COALESCE(rating_sum, 0) + :rating,"
+                + " rating = (COALESCE(rating_sum, 0) + :rating) * 1.0 / (COALESCE(review_count, 0) + 1),"
+                + " updated_at = :updatedAt"
+                + " WHERE id = :doctorId")
+            .setParameter("rating", rating)
+            .setParameter("updatedAt", updatedAt)
+            .setParameter("doctorId", doctorId)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(RATING_TOTALS_SPACE)
+            .executeUpdate();
+        evictAfterCompletion(doctorId);
+        return updated;
+    }
+
+    // Evicted now, and again once the transaction ends, in case a concurrent read cached the old row meanwhile
+    private void evictAfterCompletion(Long doctorId) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Doctor.class, doctorId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Doctor.class, doctorId);
+                }
+            });
+        }
+    }
+}
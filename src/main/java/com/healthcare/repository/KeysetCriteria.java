@@ -0,0 +1,52 @@
+package com.healthcare.repository;
+
+import com.healthcare.dto.KeysetSort;
+import com.healthcare.dto.PageCursor;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria helpers shared by the keyset-paginated admin listings. Rows without created_at sort after
+ * every timestamp, the way PostgreSQL orders NULLs by default (H2 with DEFAULT_NULL_ORDERING=HIGH does the
+ * same): last in ascending order, first in descending order, and by id among themselves.
+ */
+final class KeysetCriteria {
+
+    private KeysetCriteria() {
+    }
+
+    /**
+     * Restricts a query to rows strictly after the cursor position in the given sort order.
+     */
+    static Predicate after(CriteriaBuilder cb, Path<Long> id, Path<LocalDateTime> createdAt, KeysetSort sort, PageCursor cursor) {
+        if (!sort.isByCreatedAt()) {
+            return sort.isDescending() ? cb.lessThan(id, cursor.getId()) : cb.greaterThan(id, cursor.getId());
+        }
+        Predicate beyondId = sort.isDescending() ? cb.lessThan(id, cursor.getId()) : cb.greaterThan(id, cursor.getId());
+        if (cursor.getTimestamp() == null) {
+            // The cursor row has no created_at: only later NULL rows remain, plus every timestamp when descending
+            Predicate laterNull = cb.and(cb.isNull(createdAt), beyondId);
+            return sort.isDescending() ? cb.or(laterNull, cb.isNotNull(createdAt)) : laterNull;
+        }
+        Predicate beyondTimestamp = sort.isDescending()
+            ? cb.lessThan(createdAt, cursor.getTimestamp())
+            : cb.greaterThan(createdAt, cursor.getTimestamp());
+        Predicate after = cb.or(beyondTimestamp, cb.and(cb.equal(createdAt, cursor.getTimestamp()), beyondId));
+        return sort.isDescending() ? after : cb.or(after, cb.isNull(createdAt));
+    }
+
+    static List<Order> orderBy(CriteriaBuilder cb, Path<Long> id, Path<LocalDateTime> createdAt, KeysetSort sort) {
+        List<Order> orders = new ArrayList<>(2);
+        if (sort.isByCreatedAt()) {
+            orders.add(sort.isDescending() ? cb.desc(createdAt) : cb.asc(createdAt));
+        }
+        orders.add(sort.isDescending() ? cb.desc(id) : cb.asc(id));
+        return orders;
+    }
+}
@@ -0,0 +1,8 @@
+package com.healthcare.repository;
+
+import com.healthcare.model.MediaUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MediaUploadRepository extends JpaRepository<MediaUpload, Long> {
+    boolean existsByHashAndOwnerRoleAndOwnerId(String hash, String ownerRole, Long ownerId);
+}
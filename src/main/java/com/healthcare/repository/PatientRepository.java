@@ -1,13 +1,34 @@
 package com.healthcare.repository;
 
+import com.healthcare.dto.PatientExportRow;
 import com.healthcare.model.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PatientRepository extends JpaRepository<Patient, Long> {
+public interface PatientRepository extends JpaRepository<Patient, Long>, PatientRepositoryCustom {
     Optional<Patient> findByEmail(String email);
     Optional<Patient> findByMobile(String mobile);
     boolean existsByEmail(String email);
     boolean existsByMobile(String mobile);
+    
+    @Query("SELECT p.email FROM Patient p WHERE p.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Patient p WHERE p.id = :patientId AND (p.photoPath = :hash OR p.documentPath = :hash)")
+    boolean existsMediaOfPatient(@Param("hash") String hash, @Param("patientId") Long patientId);
+
+    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Appointment a, Patient p WHERE a.patientId = p.id AND a.doctorId = :doctorId AND (p.photoPath = :hash OR p.documentPath = :hash)")
+    boolean existsMediaOfPatientOfDoctor(@Param("hash") String hash, @Param("doctorId") Long doctorId);
+    
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.healthcare.dto.PatientExportRow(p.id, p.fullName, p.email, p.mobile, p.gender, p.dateOfBirth, p.city, p.state, p.country, p.isActive, p.createdAt, p.updatedAt) FROM Patient p ORDER BY p.id")
+    Stream<PatientExportRow> streamExportRows();
 }
@@ -0,0 +1,14 @@
+package com.healthcare.repository;
+
+import com.healthcare.dto.AdminPatientSummary;
+import com.healthcare.dto.KeysetSort;
+import com.healthcare.dto.PageCursor;
+
+import java.util.List;
+
+public interface PatientRepositoryCustom {
+    /**
+     * One page of the admin patient listing. A null isActive is ignored; cursor may be null for the first page.
+     */
+    List<AdminPatientSummary> findAdminPatientPage(Boolean isActive, KeysetSort sort, PageCursor cursor, int limit);
+}
@@ -0,0 +1,48 @@
+package com.healthcare.repository;
+
+import com.healthcare.dto.AdminPatientSummary;
+import com.healthcare.dto.KeysetSort;
+import com.healthcare.dto.PageCursor;
+import com.healthcare.model.Patient;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PatientRepositoryCustomImpl implements PatientRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AdminPatientSummary> findAdminPatientPage(Boolean isActive, KeysetSort sort, PageCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AdminPatientSummary> query = cb.createQuery(AdminPatientSummary.class);
+        Root<Patient> patient = query.from(Patient.class);
+        Path<Long> id = patient.get("id");
+        Path<LocalDateTime> createdAt = patient.get("createdAt");
+
+        query.select(cb.construct(AdminPatientSummary.class,
+            id, patient.get("fullName"), patient.get("email"), patient.get("mobile"), patient.get("role"),
+            patient.get("gender"), patient.get("isActive"), createdAt));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (isActive != null) {
+            predicates.add(cb.equal(patient.get("isActive"), isActive));
+        }
+        if (cursor != null) {
+            predicates.add(KeysetCriteria.after(cb, id, createdAt, sort, cursor));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(KeysetCriteria.orderBy(cb, id, createdAt, sort));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
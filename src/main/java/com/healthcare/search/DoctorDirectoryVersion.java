@@ -0,0 +1,79 @@
+package com.healthcare.search;
+
+import com.healthcare.dto.TableVersion;
+import com.healthcare.event.DoctorChangedEvent;
+import com.healthcare.repository.DoctorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version of the doctor directory for its ETag, so conditional GETs and result cache hits need no
+ * database round trip. Every DoctorChangedEvent moves it, after DoctorSearchCache has dropped the results
+ * the change may affect; a request that sees the new version can therefore never be answered from a result
+ * computed before the change.
+ *
+ * Changes made by other instances raise no local events. They are picked up by comparing the row count and
+ * latest updated_at of the doctors table every app.search.directory-version-check-ms; a difference publishes
+ * DoctorChangedEvent.changedElsewhere(), which clears the result cache and moves the version here.
+ *
+ * Versions are only meaningful within one process, so the ETag carries a random instance id as well: a
+ * restarted or different instance never reuses an ETag for other content, it only answers 200 once.
+ */
+@Component
+public class DoctorDirectoryVersion {
+    private static final Logger log = LoggerFactory.getLogger(DoctorDirectoryVersion.class);
+
+    private final DoctorRepository doctorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String instanceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong version = new AtomicLong();
+    private volatile TableVersion lastSeen;
+
+    public DoctorDirectoryVersion(DoctorRepository doctorRepository, ApplicationEventPublisher eventPublisher) {
+        this.doctorRepository = doctorRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Runs after DoctorSearchIndex and DoctorSearchCache (see their listener orders).
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.directory-version-check-ms:30000}")
+    public void checkForExternalChanges() {
+        try {
+            TableVersion seen = doctorRepository.findTableVersion();
+            TableVersion previous = lastSeen;
+            lastSeen = seen;
+            // Local changes are caught here as well; they only cost one extra cache invalidation
+            if (previous != null && (previous.getRowCount() != seen.getRowCount()
+                    || !Objects.equals(previous.getLastUpdatedAt(), seen.getLastUpdatedAt()))) {
+                eventPublisher.publishEvent(DoctorChangedEvent.changedElsewhere());
+            }
+        } catch (Exception e) {
+            log.error("Doctor directory version check failed", e);
+        }
+    }
+}
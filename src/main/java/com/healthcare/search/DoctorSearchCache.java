@@ -0,0 +1,110 @@
+package com.healthcare.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.healthcare.dto.DoctorListing;
+import com.healthcare.event.DoctorChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of doctor search results (immutable DoctorListing lists) keyed by the lower-cased filter values;
+ * the queries are case-insensitive, so "Cardio" and "cardio" share an entry. Caffeine's W-TinyLFU policy
+ * admits and evicts entries, weighed by the number of doctors they hold so that a few all-doctor listings
+ * cannot crowd out everything else.
+ *
+ * Any DoctorChangedEvent clears the whole cache, as a change can move a doctor in or out of any result.
+ * A generation counter keeps a result computed before an invalidation from being stored after it. The TTL
+ * bounds staleness from changes made by other instances, which raise no local events.
+ */
+@Component
+public class DoctorSearchCache {
+    private final boolean enabled;
+    private final Cache<List<String>, List<DoctorListing>> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public DoctorSearchCache(@Value("${app.search.result-cache.enabled:true}") boolean enabled,
+                             @Value("${app.search.result-cache.max-doctors:100000}") long maxDoctors,
+                             @Value("${app.search.result-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxDoctors)
+            .weigher((List<String> key, List<DoctorListing> doctors) -> doctors.size() + 1)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the cached result for the filters, computing and caching it with the loader on a miss.
+     */
+    public List<DoctorListing> get(String specialty, String city, String search,
+                                         String patientAddress, String patientLocation, String patientCity,
+                                         Supplier<List<DoctorListing>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        List<String> key = Arrays.asList(
+            DoctorSearchDocument.lower(specialty),
+            DoctorSearchDocument.lower(city),
+            DoctorSearchDocument.lower(search),
+            DoctorSearchDocument.lower(patientAddress),
+            DoctorSearchDocument.lower(patientLocation),
+            DoctorSearchDocument.lower(patientCity)
+        );
+        List<DoctorListing> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long observed = generation.get();
+        List<DoctorListing> doctors = Collections.unmodifiableList(loader.get());
+        if (generation.get() == observed) {
+            cache.put(key, doctors);
+            // an invalidation may have slipped in between the check and the put
+            if (generation.get() != observed) {
+                cache.invalidate(key);
+            }
+        }
+        return doctors;
+    }
+
+    // Ahead of DoctorDirectoryVersion, so a new directory ETag is never paired with a stale cached result
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("hit_count", stats.hitCount());
+        statistics.put("miss_count", stats.missCount());
+        statistics.put("hit_ratio", stats.requestCount() > 0 ? stats.hitRate() : null);
+        statistics.put("eviction_count", stats.evictionCount());
+        statistics.put("invalidation_count", invalidations.get());
+        statistics.put("entries", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> {
+            statistics.put("cached_doctors", eviction.weightedSize().orElse(0));
+            statistics.put("max_doctors", eviction.getMaximum());
+        });
+        return statistics;
+    }
+}
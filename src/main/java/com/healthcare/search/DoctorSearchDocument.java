@@ -0,0 +1,86 @@
+package com.healthcare.search;
+
+import com.healthcare.model.Doctor;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Lower-cased searchable columns of one doctor, as held by DoctorSearchIndex.
+ * The constructor is also used as a JPQL constructor expression when the index is loaded.
+ */
+@Getter
+public class DoctorSearchDocument {
+    static final int SPECIALTY = 0;
+    static final int CITY = 1;
+    static final int FULL_NAME = 2;
+    static final int CLINIC_ADDRESS = 3;
+    static final int LOCATION = 4;
+    static final int FIELD_COUNT = 5;
+
+    private final Long id;
+    private final boolean active;
+    private final String[] fields;
+    private final String trimmedCity;
+
+    public DoctorSearchDocument(Long id, String specialty, String city, String fullName, String clinicAddress, String location) {
+        this(id, true, specialty, city, fullName, clinicAddress, location);
+    }
+
+    private DoctorSearchDocument(Long id, boolean active, String specialty, String city, String fullName, String clinicAddress, String location) {
+        this.id = id;
+        this.active = active;
+        this.fields = new String[] { lower(specialty), lower(city), lower(fullName), lower(clinicAddress), lower(location) };
+        this.trimmedCity = fields[CITY] != null ? fields[CITY].trim() : null;
+    }
+
+    public static DoctorSearchDocument of(Doctor doctor) {
+        boolean active = Boolean.TRUE.equals(doctor.getApproved())
+            && !Boolean.TRUE.equals(doctor.getSuspended())
+            && "ACTIVE".equals(doctor.getStatus());
+        return new DoctorSearchDocument(doctor.getId(), active, doctor.getSpecialty(), doctor.getCity(),
+            doctor.getFullName(), doctor.getClinicAddress(), doctor.getLocation());
+    }
+
+    static DoctorSearchDocument removed(Long id) {
+        return new DoctorSearchDocument(id, false, null, null, null, null, null);
+    }
+
+    String field(int field) {
+        return fields[field];
+    }
+
+    /**
+     * Same predicate as DoctorRepository.findActiveDoctorsWithFilters; all terms must already be lower-cased.
+     */
+    boolean matches(String specialty, String city, String search, String[] locationTerms) {
+        if (specialty != null && !contains(fields[SPECIALTY], specialty)) {
+            return false;
+        }
+        if (city != null && !contains(trimmedCity, city)) {
+            return false;
+        }
+        if (search != null && !contains(fields[FULL_NAME], search) && !contains(fields[SPECIALTY], search)) {
+            return false;
+        }
+        boolean anyLocationTerm = false;
+        for (String term : locationTerms) {
+            if (term == null) {
+                continue;
+            }
+            anyLocationTerm = true;
+            if (contains(fields[CLINIC_ADDRESS], term) || contains(fields[LOCATION], term) || contains(fields[CITY], term)) {
+                return true;
+            }
+        }
+        return !anyLocationTerm;
+    }
+
+    private static boolean contains(String value, String term) {
+        return value != null && value.contains(term);
+    }
+
+    static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,356 @@
+package com.healthcare.search;
+
+import com.healthcare.event.DoctorChangedEvent;
+import com.healthcare.model.Doctor;
+import com.healthcare.repository.DoctorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory index over active doctors answering the same filters as
+ * DoctorRepository.findActiveDoctorsWithFilters without scanning the doctors table.
+ *
+ * Each searchable column is lower-cased and split into character trigrams, and every trigram maps to a
+ * sorted array of document ordinals. A term of three or more characters narrows the candidates to the
+ * intersection of its trigram postings; every candidate is then checked with String.contains, so results
+ * are exactly those of LIKE '%term%'. Trigrams rather than word tokens are used because the filters are
+ * substring matches ("cardio" must hit "Cardiology"). Shorter terms fall back to a scan of the column values.
+ *
+ * The indexed snapshot is immutable and swapped atomically. Writes go to an overlay map that shadows the
+ * snapshot until it is folded into a fresh one, either when the overlay grows past a threshold or on the
+ * periodic reload from the database, which also picks up changes made by other instances.
+ * Until the first load completes, isReady() is false and callers should use the JPQL query.
+ * Local changes arrive as DoctorChangedEvents once their transaction has committed.
+ */
+@Component
+public class DoctorSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(DoctorSearchIndex.class);
+    private static final int[] EMPTY = new int[0];
+
+    private final DoctorRepository doctorRepository;
+    private final boolean enabled;
+    private final int compactionThreshold;
+
+    private final Map<Long, DoctorSearchDocument> overlay = new ConcurrentHashMap<>();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "doctor-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Snapshot snapshot;
+
+    public DoctorSearchIndex(DoctorRepository doctorRepository,
+                             @Value("${app.search.index-enabled:true}") boolean enabled,
+                             @Value("${app.search.overlay-compaction-threshold:1024}") int compactionThreshold) {
+        this.doctorRepository = doctorRepository;
+        this.enabled = enabled;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    public void upsert(Doctor doctor) {
+        if (doctor == null || doctor.getId() == null) {
+            return;
+        }
+        write(DoctorSearchDocument.of(doctor));
+    }
+
+    public void remove(Long doctorId) {
+        if (doctorId == null) {
+            return;
+        }
+        write(DoctorSearchDocument.removed(doctorId));
+    }
+
+    /**
+     * Runs ahead of DoctorSearchCache so that results recomputed after its invalidation already see the change.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getDoctorId());
+        } else if (event.getDoctor() != null) {
+            upsert(event.getDoctor());
+        }
+    }
+
+    private void write(DoctorSearchDocument document) {
+        if (!enabled) {
+            return;
+        }
+        overlay.put(document.getId(), document);
+        if (overlay.size() > compactionThreshold && snapshot != null && compactionScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    Map<Long, DoctorSearchDocument> pending = new HashMap<>(overlay);
+                    rebuild(Arrays.asList(snapshot.documents), pending);
+                } catch (Exception e) {
+                    log.error("Doctor search index compaction failed", e);
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns ids of active doctors matching the filters, in ascending id order.
+     * Null filters are ignored, exactly as in the JPQL query.
+     */
+    public List<Long> search(String specialty, String city, String search,
+                             String patientAddress, String patientLocation, String patientCity) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Doctor search index is not loaded");
+        }
+        String specialtyTerm = DoctorSearchDocument.lower(specialty);
+        String cityTerm = DoctorSearchDocument.lower(city);
+        String searchTerm = DoctorSearchDocument.lower(search);
+        String[] locationTerms = {
+            DoctorSearchDocument.lower(patientAddress),
+            DoctorSearchDocument.lower(patientLocation),
+            DoctorSearchDocument.lower(patientCity)
+        };
+
+        int[] candidates = null;
+        candidates = narrow(candidates, current.candidates(specialtyTerm, DoctorSearchDocument.SPECIALTY));
+        // trimmed city is a substring of the raw city, so raw-city postings are a safe superset
+        candidates = narrow(candidates, current.candidates(cityTerm, DoctorSearchDocument.CITY));
+        candidates = narrow(candidates, current.candidates(searchTerm, DoctorSearchDocument.FULL_NAME, DoctorSearchDocument.SPECIALTY));
+        candidates = narrow(candidates, current.locationCandidates(locationTerms));
+
+        Map<Long, DoctorSearchDocument> shadowed = overlay;
+        List<Long> ids = new ArrayList<>();
+        int count = candidates != null ? candidates.length : current.documents.length;
+        for (int i = 0; i < count; i++) {
+            DoctorSearchDocument document = current.documents[candidates != null ? candidates[i] : i];
+            if (!shadowed.containsKey(document.getId()) && document.matches(specialtyTerm, cityTerm, searchTerm, locationTerms)) {
+                ids.add(document.getId());
+            }
+        }
+        boolean merged = false;
+        for (DoctorSearchDocument document : shadowed.values()) {
+            if (document.isActive() && document.matches(specialtyTerm, cityTerm, searchTerm, locationTerms)) {
+                ids.add(document.getId());
+                merged = true;
+            }
+        }
+        if (merged) {
+            ids.sort(null);
+        }
+        return ids;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuildExecutor.execute(this::reloadSafely);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:300000}", initialDelayString = "${app.search.refresh-interval-ms:300000}")
+    public void reload() {
+        if (enabled) {
+            reloadSafely();
+        }
+    }
+
+    private void reloadSafely() {
+        try {
+            long started = System.currentTimeMillis();
+            // captured before the read so that writes racing the load stay in the overlay
+            Map<Long, DoctorSearchDocument> pending = new HashMap<>(overlay);
+            List<DoctorSearchDocument> documents = doctorRepository.findActiveSearchDocuments();
+            rebuild(documents, pending);
+            log.info("Doctor search index loaded {} doctors in {} ms", snapshot.documents.length, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Doctor search index reload failed", e);
+        }
+    }
+
+    private synchronized void rebuild(Collection<DoctorSearchDocument> base, Map<Long, DoctorSearchDocument> pending) {
+        TreeMap<Long, DoctorSearchDocument> merged = new TreeMap<>();
+        for (DoctorSearchDocument document : base) {
+            merged.put(document.getId(), document);
+        }
+        for (DoctorSearchDocument document : pending.values()) {
+            if (document.isActive()) {
+                merged.put(document.getId(), document);
+            } else {
+                merged.remove(document.getId());
+            }
+        }
+        snapshot = new Snapshot(merged.values().toArray(new DoctorSearchDocument[0]));
+        pending.forEach(overlay::remove);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private static int[] narrow(int[] current, int[] next) {
+        if (next == null) {
+            return current;
+        }
+        return current == null ? next : intersect(current, next);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        int[] out = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                out[n++] = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static long trigram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16) | value.charAt(offset + 2);
+    }
+
+    private static final class Snapshot {
+        private final DoctorSearchDocument[] documents;
+        private final List<Map<Long, int[]>> postings = new ArrayList<>(DoctorSearchDocument.FIELD_COUNT);
+
+        Snapshot(DoctorSearchDocument[] documents) {
+            this.documents = documents;
+            for (int field = 0; field < DoctorSearchDocument.FIELD_COUNT; field++) {
+                postings.add(buildPostings(documents, field));
+            }
+        }
+
+        private static Map<Long, int[]> buildPostings(DoctorSearchDocument[] documents, int field) {
+            Map<Long, int[]> lists = new HashMap<>();
+            Map<Long, Integer> sizes = new HashMap<>();
+            for (int ordinal = 0; ordinal < documents.length; ordinal++) {
+                String value = documents[ordinal].field(field);
+                if (value == null) {
+                    continue;
+                }
+                for (int offset = 0; offset + 3 <= value.length(); offset++) {
+                    Long key = trigram(value, offset);
+                    int size = sizes.getOrDefault(key, 0);
+                    int[] list = lists.get(key);
+                    if (list == null) {
+                        list = new int[4];
+                        lists.put(key, list);
+                    } else if (list[size - 1] == ordinal) {
+                        continue; // trigram repeated within the same value
+                    } else if (size == list.length) {
+                        list = Arrays.copyOf(list, size * 2);
+                        lists.put(key, list);
+                    }
+                    list[size] = ordinal;
+                    sizes.put(key, size + 1);
+                }
+            }
+            lists.replaceAll((key, list) -> Arrays.copyOf(list, sizes.get(key)));
+            return lists;
+        }
+
+        /**
+         * Ordinals whose value in any of the given fields contains every trigram of the term,
+         * or null when the term cannot narrow the search (absent or shorter than a trigram).
+         */
+        int[] candidates(String term, int... fields) {
+            if (term == null || term.length() < 3) {
+                return null;
+            }
+            int[] result = EMPTY;
+            for (int field : fields) {
+                result = union(result, fieldCandidates(term, field));
+            }
+            return result;
+        }
+
+        int[] locationCandidates(String[] terms) {
+            int[] result = null;
+            for (String term : terms) {
+                if (term == null) {
+                    continue;
+                }
+                int[] hits = candidates(term, DoctorSearchDocument.CLINIC_ADDRESS, DoctorSearchDocument.LOCATION, DoctorSearchDocument.CITY);
+                if (hits == null) {
+                    return null;
+                }
+                result = result == null ? hits : union(result, hits);
+            }
+            return result;
+        }
+
+        private int[] fieldCandidates(String term, int field) {
+            Map<Long, int[]> fieldPostings = postings.get(field);
+            int[] hits = null;
+            for (int offset = 0; offset + 3 <= term.length(); offset++) {
+                int[] posting = fieldPostings.get(trigram(term, offset));
+                if (posting == null) {
+                    return EMPTY;
+                }
+                hits = hits == null ? posting : intersect(hits, posting);
+                if (hits.length == 0) {
+                    return EMPTY;
+                }
+            }
+            return hits;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.healthcare.security;
 
+import com.healthcare.tracing.Tracer;
+import io.jsonwebtoken.Claims;
+
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -7,6 +10,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -36,10 +40,12 @@ public class JwtFilter extends OncePerRequestFilter {
     );
 
     private final JwtUtil jwtUtil;
+    private final Tracer tracer;
 
     @Autowired
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, Tracer tracer) {
         this.jwtUtil = jwtUtil;
+        this.tracer = tracer;
     }
 
     @Override
@@ -54,19 +60,25 @@ public class JwtFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        try {
+        try (Tracer.SpanScope ignored = tracer.span("JwtFilter.authenticate")) {
             final String authHeader = request.getHeader("Authorization");
 
             String jwt = null;
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 jwt = authHeader.substring(7);
 
-                if (jwtUtil.validateToken(jwt)) {
-                    String userId = jwtUtil.extractUsername(jwt);
-                    Long userIdLong = jwtUtil.extractUserId(jwt);
+                // Verified once; everything the request needs is read from these claims
+                Claims claims = jwtUtil.parseClaims(jwt);
+                if (claims != null) {
+                    String userId = claims.getSubject();
+                    Long userIdLong = jwtUtil.extractUserId(claims);
+                    String role = claims.get("role", String.class);
 
+                    // The role claim becomes ROLE_<role>, so SecurityConfig can restrict paths with hasRole
                     UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userId, null, Collections.emptyList());
+                            new UsernamePasswordAuthenticationToken(userId, null, role != null
+                                    ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                                    : Collections.emptyList());
 
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -75,6 +87,14 @@ public class JwtFilter extends OncePerRequestFilter {
                     if (userIdLong != null) {
                         request.setAttribute("userId", userIdLong);
                     }
+                    // Role of the caller, used as a metrics tag (see RequestMetrics)
+                    if (role != null) {
+                        request.setAttribute("role", role);
+                    }
+                    String email = claims.get("email", String.class);
+                    if (email != null) {
+                        request.setAttribute("email", email);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -14,10 +14,11 @@ public class JwtUtil {
     private final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970"; // Stronger key (256-bit)
     private final long EXPIRATION_TIME = 86400000; // 24 hours
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    // Decoded once; the key and the parser are immutable and thread-safe, so every request shares them
+    private final Key signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signInKey)
+            .build();
 
     public String generateToken(String email, String role) {
         return Jwts.builder()
@@ -25,7 +26,7 @@ public class JwtUtil {
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
@@ -36,7 +37,7 @@ public class JwtUtil {
                 .claim("email", email)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
@@ -45,21 +46,23 @@ public class JwtUtil {
     }
 
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /**
+     * Verifies the token and returns its claims, or null if it is invalid or expired. Callers that need
+     * several claims should use this instead of validateToken followed by the extract methods, each of
+     * which verifies the signature again.
+     */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (SignatureException e) {
             System.err.println("Invalid JWT signature: " + e.getMessage());
         } catch (MalformedJwtException e) {
@@ -71,11 +74,15 @@ public class JwtUtil {
         } catch (IllegalArgumentException e) {
             System.err.println("JWT claims string is empty: " + e.getMessage());
         }
-        return false;
+        return null;
     }
 
 	public Long extractUserId(String token) {
-		String subject = extractUsername(token);
+		return extractUserId(parser.parseClaimsJws(token).getBody());
+	}
+
+	public Long extractUserId(Claims claims) {
+		String subject = claims.getSubject();
 		try {
 			return Long.parseLong(subject);
 		} catch (NumberFormatException e) {
@@ -84,10 +91,7 @@ public class JwtUtil {
 	}
 	
 	public String extractRole(String token) {
-		return Jwts.parserBuilder()
-				.setSigningKey(getSignInKey())
-				.build()
-				.parseClaimsJws(token)
+		return parser.parseClaimsJws(token)
 				.getBody()
 				.get("role", String.class);
 	}
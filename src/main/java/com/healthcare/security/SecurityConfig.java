@@ -1,8 +1,12 @@
 package com.healthcare.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -45,6 +49,14 @@ public class SecurityConfig {
                     "/ping",
                     "/error"
                 ).permitAll()
+                // Doctor photos are served without a token; MediaController checks access to all other media
+                .antMatchers(HttpMethod.GET, "/api/media/*").permitAll()
+                // Actuator endpoints are only served on the management port (management.server.port)
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                // Bulk exports of every account's personal data and bulk account creation are for administrators only
+                .antMatchers("/api/admin/export/**", "/api/admin/import/**").hasRole("ADMIN")
+                // Runtime diagnostics of this instance
+                .antMatchers("/api/admin/diagnostics/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             .and()
             .exceptionHandling()
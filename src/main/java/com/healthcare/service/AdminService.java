@@ -2,7 +2,6 @@ package com.healthcare.service;
 
 import com.healthcare.dto.ForgotPasswordRequest;
 
-import java.util.List;
 import java.util.Map;
 
 public interface AdminService {
@@ -12,14 +11,14 @@ public interface AdminService {
     Map<String, Object> resetPassword(ForgotPasswordRequest request);
     Map<String, Object> getProfile(Long adminId);
     Map<String, Object> updateProfile(Long adminId, Map<String, Object> updates);
-    List<Map<String, Object>> listDoctors();
+    Map<String, Object> listDoctors(Boolean approved, Boolean suspended, String status, String sort, String order, String cursor, Integer limit);
     Map<String, Object> viewDoctor(Long id);
     Map<String, Object> approveDoctor(Long docId);
     Map<String, Object> rejectDoctor(Long docId);
     Map<String, Object> suspendDoctor(Long docId);
     Map<String, Object> unsuspendDoctor(Long docId);
     Map<String, Object> deleteDoctor(Long docId);
-    List<Map<String, Object>> listPatients();
+    Map<String, Object> listPatients(Boolean isActive, String sort, String order, String cursor, Integer limit);
     Map<String, Object> viewPatient(Long id);
     Map<String, Object> activatePatient(Long patId);
     Map<String, Object> deactivatePatient(Long patId);
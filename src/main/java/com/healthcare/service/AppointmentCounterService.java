@@ -0,0 +1,9 @@
+package com.healthcare.service;
+
+import com.healthcare.model.DoctorAppointmentCounter;
+
+public interface AppointmentCounterService {
+    void recordTransition(Long doctorId, String fromStatus, String toStatus);
+    DoctorAppointmentCounter getCounters(Long doctorId);
+    void reconcileCounters();
+}
@@ -0,0 +1,10 @@
+package com.healthcare.service;
+
+import java.util.Map;
+
+public interface DiagnosticsService {
+    Map<String, Object> getCacheStatistics();
+    Map<String, Object> getSearchCacheStatistics();
+    Map<String, Object> getQueryStatistics(int limit);
+    Map<String, Object> getSlowestTraces(int limit, int minutes);
+}
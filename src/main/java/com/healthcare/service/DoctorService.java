@@ -1,6 +1,7 @@
 package com.healthcare.service;
 
 import com.healthcare.dto.AppointmentRequest;
+import com.healthcare.dto.DoctorProfile;
 import com.healthcare.dto.ForgotPasswordRequest;
 import com.healthcare.model.Doctor;
 
@@ -15,9 +16,10 @@ public interface DoctorService {
     Map<String, Object> login(String identifier, String password);
     Map<String, Object> sendOtp(String identifier);
     Map<String, Object> resetPassword(ForgotPasswordRequest request);
-    Map<String, Object> getProfile(Long doctorId);
+    DoctorProfile getProfile(Long doctorId);
+    String getProfileETag(Long doctorId);
     Map<String, Object> updateProfile(Long doctorId, Map<String, Object> updates);
-    Map<String, Object> getAppointments(Long doctorId);
+    Map<String, Object> getAppointments(Long doctorId, String status, String from, String to, String cursor, Integer limit);
     Map<String, Object> approveAppointment(Long appointmentId, Long doctorId);
     Map<String, Object> rejectAppointment(Long appointmentId, Long doctorId);
     Map<String, Object> completeAppointment(Long appointmentId, Long doctorId);
@@ -0,0 +1,11 @@
+package com.healthcare.service;
+
+import com.healthcare.util.BulkFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    long exportDoctors(BulkFormat format, OutputStream out) throws IOException;
+    long exportPatients(BulkFormat format, OutputStream out) throws IOException;
+}
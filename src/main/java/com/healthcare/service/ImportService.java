@@ -0,0 +1,12 @@
+package com.healthcare.service;
+
+import com.healthcare.util.BulkFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+public interface ImportService {
+    Map<String, Object> importDoctors(BulkFormat format, InputStream in) throws IOException;
+    Map<String, Object> importPatients(BulkFormat format, InputStream in) throws IOException;
+}
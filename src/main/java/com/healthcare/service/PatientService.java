@@ -1,9 +1,12 @@
 package com.healthcare.service;
 
 import com.healthcare.dto.AppointmentRequest;
+import com.healthcare.dto.DoctorListResponse;
 import com.healthcare.dto.ForgotPasswordRequest;
+import com.healthcare.dto.PatientProfile;
 import com.healthcare.dto.RatingRequest;
 
+import java.util.List;
 import java.util.Map;
 
 public interface PatientService {
@@ -11,11 +14,14 @@ public interface PatientService {
     Map<String, Object> login(String identifier, String password);
     Map<String, Object> sendOtp(String identifier);
     Map<String, Object> resetPassword(ForgotPasswordRequest request);
-    Map<String, Object> getProfile(Long patientId);
+    PatientProfile getProfile(Long patientId);
+    String getProfileETag(Long patientId);
     Map<String, Object> updateProfile(Long patientId, Map<String, Object> updates);
-    Map<String, Object> listDoctors(String specialty, String city, String search, Long doctorId, String patientAddress, String patientLocation, String patientCity);
+    DoctorListResponse listDoctors(String specialty, String city, String search, Long doctorId, List<Long> doctorIds, String patientAddress, String patientLocation, String patientCity);
+    String getDoctorDirectoryETag();
+    Map<String, Object> getAvailableSlots(Long doctorId, String date);
     Map<String, Object> bookAppointment(Long patientId, AppointmentRequest request);
-    Map<String, Object> getAppointments(Long patientId);
+    Map<String, Object> getAppointments(Long patientId, String status, String cursor, Integer limit);
     Map<String, Object> updateAppointment(Long appointmentId, Long patientId, AppointmentRequest request);
     Map<String, Object> cancelAppointment(Long appointmentId, Long patientId);
     Map<String, Object> rescheduleAppointment(Long appointmentId, Long patientId, AppointmentRequest request);
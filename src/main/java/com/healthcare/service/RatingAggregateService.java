@@ -0,0 +1,5 @@
+package com.healthcare.service;
+
+public interface RatingAggregateService {
+    void reconcileRatingTotals();
+}
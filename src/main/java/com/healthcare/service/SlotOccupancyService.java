@@ -0,0 +1,24 @@
+package com.healthcare.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+public interface SlotOccupancyService {
+    /**
+     * Hint that a non-cancelled appointment starts exactly at the given time. The bitmap can be stale, so
+     * true must be confirmed against the database; false means "not known to be booked", and the insert is
+     * left to the unique slot index to reject.
+     */
+    boolean isBooked(Long doctorId, LocalDateTime datetime);
+    void recordBooked(Long doctorId, LocalDateTime datetime);
+    void recordReleased(Long doctorId, LocalDateTime datetime);
+
+    /**
+     * Drops the cached bitmap of a day that turned out to be stale; it is reloaded on the next read.
+     */
+    void invalidate(Long doctorId, LocalDate date);
+    List<LocalTime> findFreeSlots(Long doctorId, LocalDate date, LocalTime from, LocalTime to);
+    int getGranularityMinutes();
+}
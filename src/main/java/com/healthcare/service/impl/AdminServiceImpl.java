@@ -1,6 +1,11 @@
 package com.healthcare.service.impl;
 
+import com.healthcare.dto.AdminDoctorSummary;
+import com.healthcare.dto.AdminPatientSummary;
 import com.healthcare.dto.ForgotPasswordRequest;
+import com.healthcare.dto.KeysetSort;
+import com.healthcare.dto.PageCursor;
+import com.healthcare.event.DoctorChangedEvent;
 import com.healthcare.model.Admin;
 import com.healthcare.model.Doctor;
 import com.healthcare.model.Patient;
@@ -11,16 +16,18 @@ import com.healthcare.security.JwtUtil;
 import com.healthcare.service.AdminService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Service
 public class AdminServiceImpl implements AdminService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
     
     @Autowired
     private AdminRepository adminRepository;
@@ -36,6 +43,9 @@ public class AdminServiceImpl implements AdminService {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public Map<String, Object> createAdmin(Admin admin) {
@@ -234,20 +244,27 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public List<Map<String, Object>> listDoctors() {
-        List<Doctor> doctors = doctorRepository.findAll();
-        
-        return doctors.stream().map(doctor -> {
-            Map<String, Object> doctorData = new HashMap<>();
-            doctorData.put("id", doctor.getId());
-            doctorData.put("full_name", doctor.getFullName());
-            doctorData.put("email", doctor.getEmail());
-            doctorData.put("approved", doctor.getApproved());
-            doctorData.put("suspended", doctor.getSuspended());
-            doctorData.put("specialty", doctor.getSpecialty());
-            doctorData.put("documents_verified", false);
-            return doctorData;
-        }).collect(Collectors.toList());
+    public Map<String, Object> listDoctors(Boolean approved, Boolean suspended, String status, String sort, String order, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        KeysetSort keysetSort = KeysetSort.of(sort, order);
+        
+        // Fetch one extra row to learn whether another page exists
+        List<AdminDoctorSummary> doctors = doctorRepository.findAdminDoctorPage(
+            approved, suspended, status != null ? status.toUpperCase() : null, keysetSort, PageCursor.decode(cursor), pageSize + 1);
+        
+        String nextCursor = null;
+        if (doctors.size() > pageSize) {
+            doctors = doctors.subList(0, pageSize);
+            AdminDoctorSummary last = doctors.get(pageSize - 1);
+            nextCursor = new PageCursor(keysetSort.isByCreatedAt() ? last.getCreatedAt() : null, last.getId()).encode();
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("doctors", doctors);
+        response.put("next_cursor", nextCursor);
+        
+        return response;
     }
 
     @Override
@@ -288,6 +305,7 @@ public class AdminServiceImpl implements AdminService {
         doctor.setSuspended(false);
         doctor.setStatus("ACTIVE");
         doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(doctor));
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Doctor approved");
@@ -304,6 +322,7 @@ public class AdminServiceImpl implements AdminService {
         doctor.setSuspended(false);
         doctor.setStatus("INACTIVE");
         doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(doctor));
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Doctor rejected");
@@ -319,6 +338,7 @@ public class AdminServiceImpl implements AdminService {
         doctor.setSuspended(true);
         doctor.setStatus("SUSPENDED");
         doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(doctor));
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Doctor suspended successfully");
@@ -334,6 +354,7 @@ public class AdminServiceImpl implements AdminService {
         doctor.setSuspended(false);
         doctor.setStatus(doctor.getApproved() ? "ACTIVE" : "INACTIVE");
         doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(doctor));
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Doctor unsuspended successfully");
@@ -347,6 +368,7 @@ public class AdminServiceImpl implements AdminService {
             .orElseThrow(() -> new RuntimeException("Doctor not found"));
         
         doctorRepository.delete(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.deleted(docId));
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Doctor deleted successfully");
@@ -355,20 +377,27 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public List<Map<String, Object>> listPatients() {
-        List<Patient> patients = patientRepository.findAll();
-        
-        return patients.stream().map(patient -> {
-            Map<String, Object> patientData = new HashMap<>();
-            patientData.put("id", patient.getId());
-            patientData.put("full_name", patient.getFullName());
-            patientData.put("email", patient.getEmail());
-            patientData.put("mobile", patient.getMobile());
-            patientData.put("role", patient.getRole());
-            patientData.put("gender", patient.getGender());
-            patientData.put("is_active", patient.getIsActive());
-            return patientData;
-        }).collect(Collectors.toList());
+    public Map<String, Object> listPatients(Boolean isActive, String sort, String order, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        KeysetSort keysetSort = KeysetSort.of(sort, order);
+        
+        // Fetch one extra row to learn whether another page exists
+        List<AdminPatientSummary> patients = patientRepository.findAdminPatientPage(
+            isActive, keysetSort, PageCursor.decode(cursor), pageSize + 1);
+        
+        String nextCursor = null;
+        if (patients.size() > pageSize) {
+            patients = patients.subList(0, pageSize);
+            AdminPatientSummary last = patients.get(pageSize - 1);
+            nextCursor = new PageCursor(keysetSort.isByCreatedAt() ? last.getCreatedAt() : null, last.getId()).encode();
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("patients", patients);
+        response.put("next_cursor", nextCursor);
+        
+        return response;
     }
 
     @Override
@@ -0,0 +1,107 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.model.DoctorAppointmentCounter;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorAppointmentCounterRepository;
+import com.healthcare.service.AppointmentCounterService;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Maintains doctor_appointment_counters. Status changes apply a delta inside the caller's transaction;
+ * a doctor's row is seeded lazily from a grouped aggregate, and a scheduled job recomputes every row from
+ * the appointments table to repair drift. Seeding happens under a lock on the doctor row, which a
+ * transition that finds no counter row also takes: the transition then either sees the seeded row once
+ * the seeding transaction commits, or seeds the row itself from an aggregate that includes its own change.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentCounterServiceImpl implements AppointmentCounterService {
+    private static final Logger log = LoggerFactory.getLogger(AppointmentCounterServiceImpl.class);
+
+    private final DoctorAppointmentCounterRepository counterRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    @Override
+    @Transactional
+    public void recordTransition(Long doctorId, String fromStatus, String toStatus) {
+        if (fromStatus != null && fromStatus.equals(toStatus)) {
+            return;
+        }
+        
+        // pending, confirmed, completed, cancelled
+        long[] delta = new long[4];
+        adjust(delta, fromStatus, -1);
+        adjust(delta, toStatus, 1);
+        
+        long total = fromStatus == null ? 1 : 0;
+        if (counterRepository.applyDelta(doctorId, total, delta[0], delta[1], delta[2], delta[3]) > 0) {
+            return;
+        }
+        
+        // No row, or one being seeded by a transaction that has not committed yet
+        counterRepository.lockDoctor(doctorId);
+        if (counterRepository.applyDelta(doctorId, total, delta[0], delta[1], delta[2], delta[3]) == 0) {
+            seed(doctorId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public DoctorAppointmentCounter getCounters(Long doctorId) {
+        Optional<DoctorAppointmentCounter> counter = counterRepository.findById(doctorId);
+        if (counter.isPresent()) {
+            return counter.get();
+        }
+        counterRepository.lockDoctor(doctorId);
+        return counterRepository.findById(doctorId).orElseGet(() -> seed(doctorId));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${app.appointments.counters-reconcile-cron:0 45 3 * * *}")
+    public void reconcileCounters() {
+        int updated = counterRepository.recomputeAll();
+        log.info("Recomputed appointment counters for {} doctors", updated);
+    }
+
+    private DoctorAppointmentCounter seed(Long doctorId) {
+        DoctorAppointmentCounter counter = new DoctorAppointmentCounter();
+        counter.setDoctorId(doctorId);
+        
+        long[] totals = new long[4];
+        long total = 0;
+        for (Object[] row : appointmentRepository.countByStatusForDoctor(doctorId)) {
+            long count = ((Number) row[1]).longValue();
+            adjust(totals, (String) row[0], count);
+            total += count;
+        }
+        counter.setTotal(total);
+        counter.setPending(totals[0]);
+        counter.setConfirmed(totals[1]);
+        counter.setCompleted(totals[2]);
+        counter.setCancelled(totals[3]);
+        
+        return counterRepository.save(counter);
+    }
+
+    private void adjust(long[] delta, String status, long step) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case "PENDING": delta[0] += step; break;
+            case "CONFIRMED": delta[1] += step; break;
+            case "COMPLETED": delta[2] += step; break;
+            case "CANCELLED": delta[3] += step; break;
+            default: break;
+        }
+    }
+}
@@ -2,22 +2,47 @@ package com.healthcare.service.impl;
 
 import com.healthcare.model.Appointment;
 import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.service.AppointmentCounterService;
 import com.healthcare.service.AppointmentService;
+import com.healthcare.service.SlotOccupancyService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 public class AppointmentServiceImpl implements AppointmentService {
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentCounterService appointmentCounterService;
+    private final SlotOccupancyService slotOccupancyService;
 
-    public AppointmentServiceImpl(AppointmentRepository appointmentRepository) {
+    public AppointmentServiceImpl(AppointmentRepository appointmentRepository, AppointmentCounterService appointmentCounterService,
+                                  SlotOccupancyService slotOccupancyService) {
         this.appointmentRepository = appointmentRepository;
+        this.appointmentCounterService = appointmentCounterService;
+        this.slotOccupancyService = slotOccupancyService;
     }
 
     @Override
+    @Transactional
     public Appointment bookAppointment(Appointment appointment) {
-        return appointmentRepository.save(appointment);
+        Appointment previous = appointment.getId() != null
+            ? appointmentRepository.findById(appointment.getId()).orElse(null)
+            : null;
+        String previousStatus = previous != null ? previous.getStatus() : null;
+        LocalDateTime previousDateTime = previous != null ? previous.getAppointmentDatetime() : null;
+        Long previousDoctorId = previous != null ? previous.getDoctorId() : null;
+        
+        Appointment saved = appointmentRepository.save(appointment);
+        appointmentCounterService.recordTransition(saved.getDoctorId(), previousStatus, saved.getStatus());
+        if (previous != null && !"CANCELLED".equals(previousStatus)) {
+            slotOccupancyService.recordReleased(previousDoctorId, previousDateTime);
+        }
+        if (!"CANCELLED".equals(saved.getStatus())) {
+            slotOccupancyService.recordBooked(saved.getDoctorId(), saved.getAppointmentDatetime());
+        }
+        return saved;
     }
 
     @Override
@@ -1,15 +1,19 @@
 package com.healthcare.service.impl;
 
+import com.healthcare.event.DoctorChangedEvent;
+import com.healthcare.media.MediaStore;
 import com.healthcare.model.Doctor;
 import com.healthcare.model.User;
 import com.healthcare.repository.DoctorRepository;
 import com.healthcare.repository.UserRepository;
 import com.healthcare.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 @Service
@@ -18,14 +22,20 @@ public class AuthServiceImpl implements AuthService {
     private final DoctorRepository doctorRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MediaStore mediaStore;
 
     @Autowired
     public AuthServiceImpl(DoctorRepository doctorRepository, 
                           UserRepository userRepository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          ApplicationEventPublisher eventPublisher,
+                          MediaStore mediaStore) {
         this.doctorRepository = doctorRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.mediaStore = mediaStore;
     }
 
     @Override
@@ -53,13 +63,20 @@ public class AuthServiceImpl implements AuthService {
         doctor.setLocation(registration.getLocation());
         doctor.setIdProofPath(registration.getIdProofPath());
         doctor.setLicensePath(registration.getLicensePath());
-        doctor.setPhotoPath(registration.getPhotoPath());
+        try {
+            // Registration is anonymous, so there are no uploads to refer to; the photo has to come inline
+            doctor.setPhotoPath(mediaStore.storeInline(registration.getPhotoPath()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store photo: " + e.getMessage());
+        }
         doctor.setApproved(registration.getApproved());
         doctor.setRole(registration.getRole() != null ? registration.getRole() : "DOCTOR");
         doctor.setCreatedAt(LocalDateTime.now());
         doctor.setUpdatedAt(LocalDateTime.now());
 
-        return doctorRepository.save(doctor);
+        Doctor savedDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(savedDoctor));
+        return savedDoctor;
     }
 
     @Override
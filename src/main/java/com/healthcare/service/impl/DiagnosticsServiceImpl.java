@@ -0,0 +1,159 @@
+package com.healthcare.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.healthcare.search.DoctorSearchCache;
+import com.healthcare.service.DiagnosticsService;
+import com.healthcare.sql.QueryBudgetInterceptor;
+import com.healthcare.tracing.Trace;
+import com.healthcare.tracing.TraceBuffer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only view of Hibernate statistics (hibernate.generate_statistics), the doctor search result cache and
+ * the per-request SQL statement counts for the admin diagnostics endpoints, plus the slowest recent request
+ * traces. Counters are cumulative since startup.
+ */
+@Service
+public class DiagnosticsServiceImpl implements DiagnosticsService {
+    // Width of the waterfall bars in characters; the full bar is the whole request
+    private static final int WATERFALL_WIDTH = 60;
+
+    private final Statistics statistics;
+    private final CacheManager entityCacheManager;
+    private final DoctorSearchCache doctorSearchCache;
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+    private final TraceBuffer traceBuffer;
+
+    public DiagnosticsServiceImpl(EntityManagerFactory entityManagerFactory, CacheManager entityCacheManager,
+                                  DoctorSearchCache doctorSearchCache, QueryBudgetInterceptor queryBudgetInterceptor,
+                                  TraceBuffer traceBuffer) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.entityCacheManager = entityCacheManager;
+        this.doctorSearchCache = doctorSearchCache;
+        this.queryBudgetInterceptor = queryBudgetInterceptor;
+        this.traceBuffer = traceBuffer;
+    }
+
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> counts = describe(region.getHitCount(), region.getMissCount(), region.getPutCount());
+            // JCache cannot count entries, so size and bound come from the Caffeine cache underneath
+            javax.cache.Cache<Object, Object> cache = entityCacheManager.getCache(regionName);
+            if (cache != null) {
+                Cache<?, ?> caffeine = cache.unwrap(Cache.class);
+                counts.put("size", caffeine.estimatedSize());
+                caffeine.policy().eviction().map(Policy.Eviction::getMaximum).ifPresent(max -> counts.put("max_size", max));
+            }
+            regions.put(regionName, counts);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("statistics_enabled", statistics.isStatisticsEnabled());
+        response.put("started_at", statistics.getStartTime());
+        response.put("total", describe(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+            statistics.getSecondLevelCachePutCount()));
+        response.put("regions", regions);
+        return response;
+    }
+
+    @Override
+    public Map<String, Object> getSearchCacheStatistics() {
+        Map<String, Object> response = new HashMap<>(doctorSearchCache.getStatistics());
+        response.put("success", true);
+        return response;
+    }
+
+    @Override
+    public Map<String, Object> getQueryStatistics(int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("enabled", queryBudgetInterceptor.isEnabled());
+        response.put("repeated_statement_threshold", queryBudgetInterceptor.getRepeatThreshold());
+        response.put("handlers", queryBudgetInterceptor.getTopOffenders(limit));
+        return response;
+    }
+
+    @Override
+    public Map<String, Object> getSlowestTraces(int limit, int minutes) {
+        List<Map<String, Object>> traces = new ArrayList<>();
+        for (Trace trace : traceBuffer.slowest(limit, System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(minutes))) {
+            traces.add(describe(trace));
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("buffer_size", traceBuffer.capacity());
+        response.put("recorded", traceBuffer.recorded());
+        response.put("traces", traces);
+        return response;
+    }
+
+    private Map<String, Object> describe(Trace trace) {
+        long total = Math.max(trace.getDurationNanos(), 1);
+        List<Map<String, Object>> spans = new ArrayList<>();
+        List<String> waterfall = new ArrayList<>();
+        for (Trace.Span span : trace.getSpans()) {
+            long duration = span.getDurationNanos() >= 0 ? span.getDurationNanos() : total - span.getOffsetNanos();
+            Map<String, Object> description = new HashMap<>();
+            description.put("name", span.getName());
+            description.put("depth", span.getDepth());
+            description.put("offset_ms", millis(span.getOffsetNanos()));
+            description.put("duration_ms", millis(duration));
+            spans.add(description);
+
+            // e.g. "....######......     26.396 ms    AppointmentRepository.save", indented by depth
+            int from = (int) (span.getOffsetNanos() * WATERFALL_WIDTH / total);
+            int to = Math.min(WATERFALL_WIDTH, Math.max(from + 1, (int) ((span.getOffsetNanos() + duration) * WATERFALL_WIDTH / total)));
+            char[] bar = new char[WATERFALL_WIDTH];
+            Arrays.fill(bar, '.');
+            Arrays.fill(bar, from, to, '#');
+            char[] indent = new char[span.getDepth() * 2];
+            Arrays.fill(indent, ' ');
+            waterfall.add(String.format(Locale.ROOT, "%s %10.3f ms  %s%s", new String(bar), millis(duration), new String(indent), span.getName()));
+        }
+
+        Map<String, Object> description = new HashMap<>();
+        description.put("request", trace.getName());
+        description.put("status", trace.getStatus());
+        description.put("started_at", trace.getStartEpochMillis());
+        description.put("duration_ms", millis(trace.getDurationNanos()));
+        description.put("dropped_spans", trace.getDroppedSpans());
+        description.put("spans", spans);
+        description.put("waterfall", waterfall);
+        return description;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private Map<String, Object> describe(long hits, long misses, long puts) {
+        Map<String, Object> counts = new HashMap<>();
+        counts.put("hit_count", hits);
+        counts.put("miss_count", misses);
+        counts.put("put_count", puts);
+        counts.put("hit_ratio", hits + misses > 0 ? (double) hits / (hits + misses) : null);
+        return counts;
+    }
+}
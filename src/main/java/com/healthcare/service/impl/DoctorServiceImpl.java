@@ -1,25 +1,42 @@
 package com.healthcare.service.impl;
 
 import com.healthcare.dto.AppointmentRequest;
+import com.healthcare.dto.DoctorAppointmentView;
+import com.healthcare.dto.DoctorProfile;
 import com.healthcare.dto.ForgotPasswordRequest;
+import com.healthcare.dto.PageCursor;
+import com.healthcare.event.DoctorChangedEvent;
 import com.healthcare.exception.AuthenticationException;
+import com.healthcare.exception.InvalidRequestException;
+import com.healthcare.media.MediaAccess;
+import com.healthcare.media.ThumbnailGenerator;
 import com.healthcare.model.Appointment;
 import com.healthcare.model.Doctor;
+import com.healthcare.model.DoctorAppointmentCounter;
 import com.healthcare.model.Otp;
 import com.healthcare.model.Patient;
 import com.healthcare.repository.AppointmentRepository;
 import com.healthcare.repository.DoctorRepository;
 import com.healthcare.repository.OtpRepository;
 import com.healthcare.repository.PatientRepository;
-import com.healthcare.repository.RatingRepository;
 import com.healthcare.security.JwtUtil;
+import com.healthcare.service.AppointmentCounterService;
 import com.healthcare.service.DoctorService;
+import com.healthcare.service.SlotOccupancyService;
+import com.healthcare.util.ConditionalGet;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
@@ -27,17 +44,30 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class DoctorServiceImpl implements DoctorService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final LocalDateTime OPEN_RANGE_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime OPEN_RANGE_END = LocalDateTime.of(9999, 12, 31, 23, 59);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     private final DoctorRepository doctorRepository;
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
-    private final RatingRepository ratingRepository;
     private final OtpRepository otpRepository;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final AppointmentCounterService appointmentCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotOccupancyService slotOccupancyService;
+    private final MediaAccess mediaAccess;
+    private final ThumbnailGenerator thumbnailGenerator;
 
     @Override
     public Doctor saveDoctor(Doctor doctor) {
-        return doctorRepository.save(doctor);
+        Doctor savedDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(savedDoctor));
+        return savedDoctor;
     }
 
     @Override
@@ -78,6 +108,9 @@ public class DoctorServiceImpl implements DoctorService {
         doctor.setApproved(false);
         doctor.setSuspended(false);
         doctor.setStatus("PENDING");
+        doctor.setRating(0.0);
+        doctor.setReviewCount(0L);
+        doctor.setRatingSum(0L);
         
         Doctor savedDoctor = doctorRepository.save(doctor);
         
@@ -241,7 +274,14 @@ public class DoctorServiceImpl implements DoctorService {
     }
     
     @Override
-    public Map<String, Object> getProfile(Long doctorId) {
+    public String getProfileETag(Long doctorId) {
+        Doctor doctor = doctorRepository.findById(doctorId)
+            .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        return ConditionalGet.etag("doctor", doctor.getId(), doctor.getUpdatedAt());
+    }
+
+    @Override
+    public DoctorProfile getProfile(Long doctorId) {
         Doctor doctor = doctorRepository.findById(doctorId)
             .orElseThrow(() -> new RuntimeException("Doctor not found"));
         
@@ -258,42 +298,10 @@ public class DoctorServiceImpl implements DoctorService {
         if (!newStatus.equals(doctor.getStatus())) {
             doctor.setStatus(newStatus);
             doctorRepository.save(doctor);
+            eventPublisher.publishEvent(DoctorChangedEvent.saved(doctor));
         }
         
-        Map<String, Object> profile = new HashMap<>();
-        profile.put("id", doctor.getId());
-        profile.put("full_name", doctor.getFullName());
-        profile.put("email", doctor.getEmail());
-        profile.put("mobile", doctor.getMobile());
-        profile.put("gender", doctor.getGender());
-        profile.put("location", doctor.getLocation());
-        profile.put("registration_number", doctor.getRegistrationNumber());
-        profile.put("license_number", doctor.getLicenseNumber());
-        profile.put("council", doctor.getCouncil());
-        profile.put("degree", doctor.getDegree());
-        profile.put("specialty", doctor.getSpecialty());
-        profile.put("experience", doctor.getExperience());
-        profile.put("clinic_name", doctor.getClinicName());
-        profile.put("clinic_address", doctor.getClinicAddress());
-        profile.put("profile_photo", doctor.getProfilePhoto());
-        profile.put("role", doctor.getRole());
-        profile.put("dob", doctor.getDob());
-        profile.put("blood_group", doctor.getBloodGroup());
-        profile.put("available_days", doctor.getAvailableDays());
-        profile.put("available_from", doctor.getAvailableFrom());
-        profile.put("available_to", doctor.getAvailableTo());
-        profile.put("city", doctor.getCity());
-        profile.put("state", doctor.getState());
-        profile.put("zip_code", doctor.getZipCode());
-        profile.put("languages", doctor.getLanguages());
-        profile.put("status", doctor.getStatus());
-        profile.put("documents", doctor.getDocuments());
-        profile.put("approved", doctor.getApproved());
-        profile.put("suspended", doctor.getSuspended());
-        profile.put("created_at", doctor.getCreatedAt());
-        profile.put("updated_at", doctor.getUpdatedAt());
-        
-        return profile;
+        return DoctorProfile.from(doctor);
     }
     
     @Override
@@ -314,7 +322,10 @@ public class DoctorServiceImpl implements DoctorService {
         if (updates.containsKey("experience")) doctor.setExperience(convertToString(updates.get("experience")));
         if (updates.containsKey("clinic_name")) doctor.setClinicName(convertToString(updates.get("clinic_name")));
         if (updates.containsKey("clinic_address")) doctor.setClinicAddress(convertToString(updates.get("clinic_address")));
-        if (updates.containsKey("profile_photo")) doctor.setProfilePhoto(convertToString(updates.get("profile_photo")));
+        if (updates.containsKey("profile_photo")) {
+            doctor.setProfilePhoto(storeMedia(convertToString(updates.get("profile_photo")), doctor.getProfilePhoto(), doctorId));
+            thumbnailGenerator.submit(doctor.getProfilePhoto());
+        }
         if (updates.containsKey("dob")) doctor.setDob(convertToString(updates.get("dob")));
         if (updates.containsKey("blood_group")) doctor.setBloodGroup(convertToString(updates.get("blood_group")));
         if (updates.containsKey("available_days")) doctor.setAvailableDays(convertToString(updates.get("available_days")));
@@ -331,6 +342,7 @@ public class DoctorServiceImpl implements DoctorService {
         
         doctor.setUpdatedAt(LocalDateTime.now());
         doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(doctor));
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Profile updated successfully");
@@ -339,41 +351,41 @@ public class DoctorServiceImpl implements DoctorService {
     }
     
     @Override
-    public Map<String, Object> getAppointments(Long doctorId) {
-        List<Appointment> appointments = appointmentRepository.findByDoctorIdOrderByAppointmentDatetimeDesc(doctorId);
-        
-        List<Map<String, Object>> appointmentList = new ArrayList<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        
-        for (Appointment appointment : appointments) {
-            Patient patient = patientRepository.findById(appointment.getPatientId()).orElse(null);
-            
-            Map<String, Object> apptData = new HashMap<>();
-            apptData.put("id", appointment.getId());
-            apptData.put("appointment_datetime", appointment.getAppointmentDatetime().format(formatter));
-            apptData.put("reason", appointment.getReason());
-            apptData.put("status", appointment.getStatus());
-            apptData.put("created_at", appointment.getCreatedAt().format(formatter));
-            
-            if (patient != null) {
-                apptData.put("patient_name", patient.getFullName());
-                apptData.put("patient_email", patient.getEmail());
-                apptData.put("patient_phone", patient.getMobile());
-                apptData.put("patient_blood_group", patient.getBloodGroup());
-                apptData.put("patient_gender", patient.getGender());
-            }
-            
-            appointmentList.add(apptData);
+    public Map<String, Object> getAppointments(Long doctorId, String status, String from, String to, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageCursor after = PageCursor.decodeWithTimestamp(cursor);
+        
+        LocalDateTime rangeStart = from != null ? parseDate(from).atStartOfDay() : OPEN_RANGE_START;
+        LocalDateTime rangeEnd = to != null ? parseDate(to).plusDays(1).atStartOfDay() : OPEN_RANGE_END;
+        
+        // Fetch one extra row to learn whether another page exists
+        List<DoctorAppointmentView> appointments = new ArrayList<>(appointmentRepository.findDoctorAppointmentPage(
+            doctorId,
+            status != null ? status.toUpperCase() : null,
+            rangeStart,
+            rangeEnd,
+            after != null ? after.getTimestamp() : OPEN_RANGE_END,
+            after != null ? after.getId() : Long.MAX_VALUE,
+            PageRequest.of(0, pageSize + 1)
+        ));
+        
+        String nextCursor = null;
+        if (appointments.size() > pageSize) {
+            appointments = appointments.subList(0, pageSize);
+            DoctorAppointmentView last = appointments.get(pageSize - 1);
+            nextCursor = new PageCursor(last.getAppointmentDatetime(), last.getId()).encode();
         }
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("appointments", appointmentList);
+        response.put("appointments", appointments);
+        response.put("next_cursor", nextCursor);
         
         return response;
     }
     
     @Override
+    @Transactional
     public Map<String, Object> approveAppointment(Long appointmentId, Long doctorId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
@@ -388,6 +400,7 @@ public class DoctorServiceImpl implements DoctorService {
         
         appointment.setStatus("CONFIRMED");
         appointmentRepository.save(appointment);
+        appointmentCounterService.recordTransition(doctorId, "PENDING", "CONFIRMED");
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -397,6 +410,7 @@ public class DoctorServiceImpl implements DoctorService {
     }
     
     @Override
+    @Transactional
     public Map<String, Object> rejectAppointment(Long appointmentId, Long doctorId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
@@ -409,8 +423,11 @@ public class DoctorServiceImpl implements DoctorService {
             throw new RuntimeException("Only pending or confirmed appointments can be rejected");
         }
         
+        String previousStatus = appointment.getStatus();
         appointment.setStatus("CANCELLED");
         appointmentRepository.save(appointment);
+        appointmentCounterService.recordTransition(doctorId, previousStatus, "CANCELLED");
+        slotOccupancyService.recordReleased(doctorId, appointment.getAppointmentDatetime());
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -420,6 +437,7 @@ public class DoctorServiceImpl implements DoctorService {
     }
     
     @Override
+    @Transactional
     public Map<String, Object> completeAppointment(Long appointmentId, Long doctorId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
@@ -434,6 +452,7 @@ public class DoctorServiceImpl implements DoctorService {
         
         appointment.setStatus("COMPLETED");
         appointmentRepository.save(appointment);
+        appointmentCounterService.recordTransition(doctorId, "CONFIRMED", "COMPLETED");
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -443,6 +462,7 @@ public class DoctorServiceImpl implements DoctorService {
     }
     
     @Override
+    @Transactional
     public Map<String, Object> rescheduleAppointment(Long appointmentId, Long doctorId, AppointmentRequest request) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
@@ -456,29 +476,36 @@ public class DoctorServiceImpl implements DoctorService {
         }
         
         try {
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-            
             LocalDateTime newDateTime = LocalDateTime.parse(
                 request.getNewDate() + " " + request.getNewTime() + ":00",
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+                DATETIME_FORMAT
             );
             
             if (newDateTime.isBefore(LocalDateTime.now())) {
                 throw new RuntimeException("New appointment time must be in the future");
             }
             
+            String previousStatus = appointment.getStatus();
+            LocalDateTime previousDateTime = appointment.getAppointmentDatetime();
             appointment.setAppointmentDatetime(newDateTime);
             appointment.setStatus("CONFIRMED");
-            appointmentRepository.save(appointment);
+            // Flushed here so a clash with another booking surfaces as a conflict rather than at commit
+            appointmentRepository.saveAndFlush(appointment);
+            appointmentCounterService.recordTransition(doctorId, previousStatus, "CONFIRMED");
+            if (!"CANCELLED".equals(previousStatus)) {
+                slotOccupancyService.recordReleased(doctorId, previousDateTime);
+            }
+            slotOccupancyService.recordBooked(doctorId, newDateTime);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Appointment rescheduled successfully");
-            response.put("new_datetime", newDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            response.put("new_datetime", newDateTime.format(DATETIME_FORMAT));
             response.put("appointment_id", appointmentId);
             
             return response;
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("This time slot is already booked");
         } catch (Exception e) {
             throw new RuntimeException("Invalid date or time format");
         }
@@ -486,13 +513,17 @@ public class DoctorServiceImpl implements DoctorService {
     
     @Override
     public Map<String, Object> getAppointmentStats(Long doctorId) {
+        DoctorAppointmentCounter counters = appointmentCounterService.getCounters(doctorId);
+        LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
+        
         Map<String, Object> stats = new HashMap<>();
-        stats.put("total_appointments", appointmentRepository.countByDoctorId(doctorId));
-        stats.put("pending_appointments", appointmentRepository.countPendingByDoctorId(doctorId));
-        stats.put("confirmed_appointments", appointmentRepository.countConfirmedByDoctorId(doctorId));
-        stats.put("completed_appointments", appointmentRepository.countCompletedByDoctorId(doctorId));
-        stats.put("cancelled_appointments", appointmentRepository.countCancelledByDoctorId(doctorId));
-        stats.put("today_appointments", appointmentRepository.countTodayByDoctorId(doctorId));
+        stats.put("total_appointments", counters.getTotal());
+        stats.put("pending_appointments", counters.getPending());
+        stats.put("confirmed_appointments", counters.getConfirmed());
+        stats.put("completed_appointments", counters.getCompleted());
+        stats.put("cancelled_appointments", counters.getCancelled());
+        // "Today" depends on the clock, so it is a bounded range count rather than a stored counter
+        stats.put("today_appointments", appointmentRepository.countConfirmedByDoctorIdBetween(doctorId, startOfToday, startOfToday.plusDays(1)));
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -506,7 +537,6 @@ public class DoctorServiceImpl implements DoctorService {
         List<Appointment> appointments = appointmentRepository.findByDoctorIdOrderByAppointmentDatetimeDesc(doctorId);
         
         List<Map<String, Object>> patientList = new ArrayList<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         
         for (Appointment appointment : appointments) {
             Patient patient = patientRepository.findById(appointment.getPatientId()).orElse(null);
@@ -514,10 +544,10 @@ public class DoctorServiceImpl implements DoctorService {
             if (patient != null) {
                 Map<String, Object> patientData = new HashMap<>();
                 patientData.put("appointment_id", appointment.getId());
-                patientData.put("appointment_datetime", appointment.getAppointmentDatetime().format(formatter));
+                patientData.put("appointment_datetime", appointment.getAppointmentDatetime().format(DATETIME_FORMAT));
                 patientData.put("reason", appointment.getReason());
                 patientData.put("appointment_status", appointment.getStatus());
-                patientData.put("appointment_created_at", appointment.getCreatedAt().format(formatter));
+                patientData.put("appointment_created_at", appointment.getCreatedAt().format(DATETIME_FORMAT));
                 patientData.put("patient_id", patient.getId());
                 patientData.put("full_name", patient.getFullName());
                 patientData.put("email", patient.getEmail());
@@ -537,8 +567,10 @@ public class DoctorServiceImpl implements DoctorService {
     
     @Override
     public Map<String, Object> getRatingSummary(Long doctorId) {
-        Double averageRating = ratingRepository.getAverageRatingByDoctorId(doctorId);
-        Long totalReviews = ratingRepository.countByDoctorId(doctorId);
+        Doctor doctor = doctorRepository.findById(doctorId)
+            .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        Double averageRating = doctor.getRating();
+        Long totalReviews = doctor.getReviewCount();
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -557,7 +589,6 @@ public class DoctorServiceImpl implements DoctorService {
             .findByDoctorIdAndCreatedAtAfterOrderByCreatedAtDesc(doctorId, sevenDaysAgo);
         
         List<Map<String, Object>> activities = new ArrayList<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         
         for (Appointment appointment : recentAppointments) {
             Patient patient = patientRepository.findById(appointment.getPatientId()).orElse(null);
@@ -567,9 +598,9 @@ public class DoctorServiceImpl implements DoctorService {
                 activity.put("activity_id", appointment.getId());
                 activity.put("activity_type", "appointment");
                 activity.put("status", appointment.getStatus());
-                activity.put("appointment_datetime", appointment.getAppointmentDatetime().format(formatter));
+                activity.put("appointment_datetime", appointment.getAppointmentDatetime().format(DATETIME_FORMAT));
                 activity.put("reason", appointment.getReason());
-                activity.put("created_at", appointment.getCreatedAt().format(formatter));
+                activity.put("created_at", appointment.getCreatedAt().format(DATETIME_FORMAT));
                 activity.put("patient_id", patient.getId());
                 activity.put("patient_name", patient.getFullName());
                 activity.put("patient_email", patient.getEmail());
@@ -587,6 +618,22 @@ public class DoctorServiceImpl implements DoctorService {
         return response;
     }
     
+    private LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value, DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid date: " + value);
+        }
+    }
+
+    private String storeMedia(String value, String current, Long doctorId) {
+        try {
+            return mediaAccess.storeReference(value, current, "DOCTOR", doctorId);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store media: " + e.getMessage());
+        }
+    }
+
     private String convertToString(Object value) {
         if (value == null) return null;
         return value.toString();
@@ -0,0 +1,83 @@
+package com.healthcare.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.healthcare.dto.DoctorExportRow;
+import com.healthcare.dto.PatientExportRow;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.service.ExportService;
+import com.healthcare.util.BulkFormat;
+import com.healthcare.util.CsvWriter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams full admin rosters row by row. Rows are DTO projections read through a forward-only cursor
+ * with a JDBC fetch size, so neither the persistence context nor the response is held in memory.
+ * The read-only transaction is required for PostgreSQL to honour the fetch size.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportDoctors(BulkFormat format, OutputStream out) throws IOException {
+        try (Stream<DoctorExportRow> rows = doctorRepository.streamExportRows()) {
+            return write(format, out, rows, DoctorExportRow.CSV_HEADER, DoctorExportRow::toCsvRow);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPatients(BulkFormat format, OutputStream out) throws IOException {
+        try (Stream<PatientExportRow> rows = patientRepository.streamExportRows()) {
+            return write(format, out, rows, PatientExportRow.CSV_HEADER, PatientExportRow::toCsvRow);
+        }
+    }
+
+    private <T> long write(BulkFormat format, OutputStream out, Stream<T> rows, String[] csvHeader,
+                           Function<T, Object[]> csvRow) throws IOException {
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        if (format == BulkFormat.CSV) {
+            CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            csv.writeRow((Object[]) csvHeader);
+            while (iterator.hasNext()) {
+                csv.writeRow(csvRow.apply(iterator.next()));
+                count++;
+            }
+            csv.flush();
+        } else {
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+            generator.flush();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,524 @@
+package com.healthcare.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.service.ImportService;
+import com.healthcare.util.BulkFormat;
+import com.healthcare.util.CsvReader;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Admin bulk import of doctors and patients from CSV or NDJSON uploads.
+ *
+ * The upload is read in chunks of app.import.batch-size rows. Each row is validated and its password
+ * hashed on a shared worker pool; BCrypt dominates the cost of a row, so the next chunk is already being
+ * hashed while the current one is written. Rows clashing with each other or with existing accounts are
+ * rejected up front with one IN query per unique column, then the chunk is inserted in a single
+ * transaction. Sequence ids and hibernate.jdbc.batch_size turn those inserts into JDBC batches.
+ * Should the batch still hit a constraint (a concurrent registration), it is replayed row by row so
+ * only the offending rows fail. Failures are reported per row instead of aborting the import.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+    private static final Logger log = LoggerFactory.getLogger(ImportServiceImpl.class);
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+    private static final Pattern MOBILE_PATTERN = Pattern.compile("^[0-9]{10}$");
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ExecutorService workers;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ImportServiceImpl(DoctorRepository doctorRepository, PatientRepository patientRepository,
+                             PasswordEncoder passwordEncoder, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.import.batch-size:500}") int batchSize,
+                             @Value("${app.import.worker-threads:0}") int workerThreads) {
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        int threads = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Map<String, Object> importDoctors(BulkFormat format, InputStream in) throws IOException {
+        return importRows("doctors", format, in, this::toDoctor, doctorRepository, Doctor::setId, Arrays.asList(
+            new UniqueKey<>("Email", Doctor::getEmail, doctorRepository::findExistingEmails),
+            new UniqueKey<>("Registration number", Doctor::getRegistrationNumber, doctorRepository::findExistingRegistrationNumbers)
+        ));
+    }
+
+    @Override
+    public Map<String, Object> importPatients(BulkFormat format, InputStream in) throws IOException {
+        return importRows("patients", format, in, this::toPatient, patientRepository, Patient::setId, Collections.singletonList(
+            new UniqueKey<>("Email", Patient::getEmail, patientRepository::findExistingEmails)
+        ));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private <T> Map<String, Object> importRows(String kind, BulkFormat format, InputStream in,
+                                               Function<Map<String, String>, T> mapper, JpaRepository<T, Long> repository,
+                                               BiConsumer<T, Long> idSetter, List<UniqueKey<T>> keys) throws IOException {
+        long started = System.currentTimeMillis();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowSource source = format == BulkFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader, objectMapper);
+        ImportReport report = new ImportReport();
+        List<Set<String>> seen = new ArrayList<>();
+        keys.forEach(key -> seen.add(new HashSet<>()));
+
+        List<SourceRow> rows = source.next(batchSize);
+        List<Future<T>> pending = submit(rows, mapper);
+        while (!rows.isEmpty()) {
+            List<SourceRow> nextRows = source.next(batchSize);
+            List<Future<T>> nextPending = submit(nextRows, mapper);
+
+            List<Candidate<T>> candidates = collect(rows, pending, report);
+            insert(dropDuplicates(candidates, keys, seen, report), repository, idSetter, report);
+
+            rows = nextRows;
+            pending = nextPending;
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        report.errors.sort(Comparator.comparingInt(error -> (Integer) error.get("row")));
+        log.info("Imported {} of {} {} in {} ms ({} rejected)", report.imported, report.total, kind, elapsed, report.failed);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("total_rows", report.total);
+        response.put("imported", report.imported);
+        response.put("failed", report.failed);
+        response.put("errors", report.errors);
+        response.put("errors_truncated", report.failed > report.errors.size());
+        response.put("duration_ms", elapsed);
+        return response;
+    }
+
+    private <T> List<Future<T>> submit(List<SourceRow> rows, Function<Map<String, String>, T> mapper) {
+        List<Future<T>> futures = new ArrayList<>(rows.size());
+        for (SourceRow row : rows) {
+            futures.add(row.error == null ? workers.submit(() -> mapper.apply(row.values)) : null);
+        }
+        return futures;
+    }
+
+    private <T> List<Candidate<T>> collect(List<SourceRow> rows, List<Future<T>> pending, ImportReport report) {
+        List<Candidate<T>> candidates = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            SourceRow row = rows.get(i);
+            report.total++;
+            if (row.error != null) {
+                report.fail(row.number, row.error);
+                continue;
+            }
+            try {
+                candidates.add(new Candidate<>(row.number, pending.get(i).get()));
+            } catch (ExecutionException e) {
+                report.fail(row.number, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Import interrupted");
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Rejects rows whose unique values were already used earlier in the upload or are already registered.
+     */
+    private <T> List<Candidate<T>> dropDuplicates(List<Candidate<T>> candidates, List<UniqueKey<T>> keys,
+                                                  List<Set<String>> seen, ImportReport report) {
+        List<Set<String>> existing = new ArrayList<>(keys.size());
+        for (UniqueKey<T> key : keys) {
+            Set<String> values = new HashSet<>();
+            for (Candidate<T> candidate : candidates) {
+                String value = key.value.apply(candidate.entity);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+            existing.add(values.isEmpty() ? Collections.emptySet() : new HashSet<>(key.existing.apply(values)));
+        }
+
+        List<Candidate<T>> accepted = new ArrayList<>(candidates.size());
+        for (Candidate<T> candidate : candidates) {
+            String conflict = null;
+            for (int k = 0; k < keys.size() && conflict == null; k++) {
+                String value = keys.get(k).value.apply(candidate.entity);
+                if (value == null) {
+                    continue;
+                }
+                if (existing.get(k).contains(value)) {
+                    conflict = keys.get(k).label + " already registered";
+                } else if (seen.get(k).contains(value)) {
+                    conflict = keys.get(k).label + " duplicated in upload";
+                }
+            }
+            if (conflict != null) {
+                report.fail(candidate.number, conflict);
+                continue;
+            }
+            for (int k = 0; k < keys.size(); k++) {
+                String value = keys.get(k).value.apply(candidate.entity);
+                if (value != null) {
+                    seen.get(k).add(value);
+                }
+            }
+            accepted.add(candidate);
+        }
+        return accepted;
+    }
+
+    private <T> void insert(List<Candidate<T>> batch, JpaRepository<T, Long> repository,
+                            BiConsumer<T, Long> idSetter, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<T> entities = new ArrayList<>(batch.size());
+        batch.forEach(candidate -> entities.add(candidate.entity));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Freshly imported rows would only evict hot entries from the second-level cache
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                repository.saveAllAndFlush(entities);
+                // open-in-view keeps one persistence context for the whole request; don't let it grow per batch
+                entityManager.clear();
+            });
+            report.imported += batch.size();
+            return;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch of {} rows hit a constraint violation, retrying row by row", batch.size());
+        }
+
+        for (Candidate<T> candidate : batch) {
+            idSetter.accept(candidate.entity, null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                    repository.saveAndFlush(candidate.entity);
+                    entityManager.clear();
+                });
+                report.imported++;
+            } catch (DataIntegrityViolationException e) {
+                report.fail(candidate.number, "Conflicts with an existing record");
+            }
+        }
+    }
+
+    private Doctor toDoctor(Map<String, String> row) {
+        Doctor doctor = new Doctor();
+        doctor.setFullName(required(row, "full_name"));
+        doctor.setEmail(email(row));
+        doctor.setMobile(mobile(row));
+        String password = required(row, "password");
+        doctor.setGender(optional(row, "gender"));
+        doctor.setDob(optional(row, "dob"));
+        doctor.setBloodGroup(optional(row, "blood_group"));
+        doctor.setRegistrationNumber(optional(row, "registration_number"));
+        doctor.setLicenseNumber(optional(row, "license_number"));
+        doctor.setCouncil(optional(row, "council"));
+        doctor.setDegree(optional(row, "degree"));
+        doctor.setSpecialty(optional(row, "specialty"));
+        doctor.setExperience(optional(row, "experience"));
+        doctor.setConsultationFee(decimal(row, "consultation_fee"));
+        doctor.setClinicName(optional(row, "clinic_name"));
+        doctor.setClinicAddress(optional(row, "clinic_address", 1000));
+        doctor.setLocation(optional(row, "location"));
+        doctor.setCity(optional(row, "city"));
+        doctor.setState(optional(row, "state"));
+        doctor.setZipCode(optional(row, "zip_code"));
+        doctor.setLanguages(optional(row, "languages"));
+        doctor.setAvailableDays(optional(row, "available_days"));
+        doctor.setAvailableFrom(optional(row, "available_from"));
+        doctor.setAvailableTo(optional(row, "available_to"));
+
+        // Same starting state as self-registration: imported doctors still need admin approval
+        doctor.setApproved(false);
+        doctor.setSuspended(false);
+        doctor.setStatus("PENDING");
+        doctor.setRating(0.0);
+        doctor.setReviewCount(0L);
+        doctor.setRatingSum(0L);
+        doctor.setPassword(passwordEncoder.encode(password));
+        return doctor;
+    }
+
+    private Patient toPatient(Map<String, String> row) {
+        Patient patient = new Patient();
+        patient.setFullName(required(row, "full_name"));
+        patient.setEmail(email(row));
+        patient.setMobile(mobile(row));
+        String password = required(row, "password");
+        patient.setGender(optional(row, "gender"));
+        patient.setDateOfBirth(optional(row, "date_of_birth"));
+        patient.setBloodGroup(optional(row, "blood_group"));
+        patient.setAddress(optional(row, "address"));
+        patient.setCity(optional(row, "city"));
+        patient.setState(optional(row, "state"));
+        patient.setZip(optional(row, "zip"));
+        patient.setCountry(optional(row, "country"));
+        patient.setAllergies(optional(row, "allergies"));
+        patient.setConditions(optional(row, "conditions"));
+        patient.setMedications(optional(row, "medications"));
+        patient.setSurgeries(optional(row, "surgeries"));
+        patient.setEmergencyContactName(optional(row, "emergency_contact_name"));
+        patient.setEmergencyContactNumber(optional(row, "emergency_contact_number"));
+
+        // Nobody confirmed these contact details through an OTP, so the account starts unverified
+        patient.setIsActive(true);
+        patient.setVerified(false);
+        patient.setPassword(passwordEncoder.encode(password));
+        return patient;
+    }
+
+    private static String required(Map<String, String> row, String column) {
+        String value = optional(row, column);
+        if (value == null) {
+            throw new RuntimeException("Missing " + column);
+        }
+        return value;
+    }
+
+    private static String optional(Map<String, String> row, String column) {
+        return optional(row, column, MAX_TEXT_LENGTH);
+    }
+
+    private static String optional(Map<String, String> row, String column, int maxLength) {
+        String value = row.get(column);
+        if (value != null && value.length() > maxLength) {
+            throw new RuntimeException(column + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static String email(Map<String, String> row) {
+        String email = required(row, "email");
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            throw new RuntimeException("Invalid email address");
+        }
+        return email;
+    }
+
+    private static String mobile(Map<String, String> row) {
+        String mobile = required(row, "mobile");
+        if (!MOBILE_PATTERN.matcher(mobile).matches()) {
+            throw new RuntimeException("Mobile number must be 10 digits");
+        }
+        return mobile;
+    }
+
+    private static Double decimal(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /**
+     * Trims values and maps empty ones to null, so CSV empty fields and missing JSON keys read alike.
+     */
+    private static Map<String, String> normalize(Map<String, ?> values) {
+        Map<String, String> row = new HashMap<>();
+        values.forEach((key, value) -> {
+            String text = value != null ? value.toString().trim() : "";
+            if (!text.isEmpty()) {
+                row.put(key.trim().toLowerCase(Locale.ROOT), text);
+            }
+        });
+        return row;
+    }
+
+    private static final class SourceRow {
+        private final int number;
+        private final Map<String, String> values;
+        private final String error;
+
+        SourceRow(int number, Map<String, String> values, String error) {
+            this.number = number;
+            this.values = values;
+            this.error = error;
+        }
+    }
+
+    private static final class Candidate<T> {
+        private final int number;
+        private final T entity;
+
+        Candidate(int number, T entity) {
+            this.number = number;
+            this.entity = entity;
+        }
+    }
+
+    private static final class UniqueKey<T> {
+        private final String label;
+        private final Function<T, String> value;
+        private final Function<Collection<String>, List<String>> existing;
+
+        UniqueKey(String label, Function<T, String> value, Function<Collection<String>, List<String>> existing) {
+            this.label = label;
+            this.value = value;
+            this.existing = existing;
+        }
+    }
+
+    private static final class ImportReport {
+        private int total;
+        private int imported;
+        private int failed;
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+
+        void fail(int row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("row", row);
+                error.put("error", message);
+                errors.add(error);
+            }
+        }
+    }
+
+    private abstract static class RowSource {
+        private int number;
+
+        /**
+         * Reads up to max data rows; an empty list means the input is exhausted.
+         */
+        List<SourceRow> next(int max) throws IOException {
+            List<SourceRow> rows = new ArrayList<>();
+            while (rows.size() < max) {
+                SourceRow row = read(number + 1);
+                if (row == null) {
+                    break;
+                }
+                number++;
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        abstract SourceRow read(int number) throws IOException;
+    }
+
+    private static final class CsvRowSource extends RowSource {
+        private final CsvReader csv;
+        private final String[] header;
+
+        CsvRowSource(BufferedReader reader) throws IOException {
+            this.csv = new CsvReader(reader);
+            List<String> names = csv.readRecord();
+            if (names == null) {
+                throw new RuntimeException("CSV upload is empty");
+            }
+            header = new String[names.size()];
+            for (int i = 0; i < header.length; i++) {
+                String name = names.get(i);
+                // Spreadsheet exports often start with a UTF-8 byte order mark
+                header[i] = (i == 0 && name.startsWith("\uFEFF") ? name.substring(1) : name).trim().toLowerCase(Locale.ROOT);
+            }
+        }
+
+        @Override
+        SourceRow read(int number) throws IOException {
+            List<String> fields = csv.readRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() != header.length) {
+                return new SourceRow(number, null, "Expected " + header.length + " fields but found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                values.put(header[i], fields.get(i));
+            }
+            return new SourceRow(number, normalize(values), null);
+        }
+    }
+
+    private static final class NdjsonRowSource extends RowSource {
+        private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<Map<String, Object>>() {};
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+
+        NdjsonRowSource(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        SourceRow read(int number) throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.trim().isEmpty());
+            try {
+                return new SourceRow(number, normalize(objectMapper.readValue(line, ROW_TYPE)), null);
+            } catch (IOException e) {
+                return new SourceRow(number, null, "Malformed JSON line");
+            }
+        }
+    }
+}
@@ -1,29 +1,67 @@
 package com.healthcare.service.impl;
 
 import com.healthcare.dto.AppointmentRequest;
+import com.healthcare.dto.DoctorListResponse;
+import com.healthcare.dto.DoctorListing;
+import com.healthcare.dto.DoctorListingRow;
 import com.healthcare.dto.ForgotPasswordRequest;
+import com.healthcare.dto.PageCursor;
+import com.healthcare.dto.PatientAppointmentView;
+import com.healthcare.dto.PatientProfile;
 import com.healthcare.dto.RatingRequest;
+import com.healthcare.event.DoctorChangedEvent;
+import com.healthcare.exception.InvalidRequestException;
+import com.healthcare.media.MediaAccess;
+import com.healthcare.media.ThumbnailGenerator;
 import com.healthcare.model.Appointment;
 import com.healthcare.model.Doctor;
 import com.healthcare.model.Otp;
 import com.healthcare.model.Patient;
 import com.healthcare.model.Rating;
 import com.healthcare.repository.*;
+import com.healthcare.search.DoctorDirectoryVersion;
+import com.healthcare.search.DoctorSearchCache;
+import com.healthcare.search.DoctorSearchIndex;
 import com.healthcare.security.JwtUtil;
+import com.healthcare.service.AppointmentCounterService;
 import com.healthcare.service.PatientService;
+import com.healthcare.service.SlotOccupancyService;
+import com.healthcare.util.ConditionalGet;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Service
 public class PatientServiceImpl implements PatientService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_DOCTOR_IDS = 100;
+    private static final int ID_LOOKUP_CHUNK = 1000;
+    private static final int LISTING_THUMBNAIL_SIZE = 128;
+    private static final LocalDateTime OPEN_CURSOR_DATETIME = LocalDateTime.of(9999, 12, 31, 23, 59);
+    private static final DateTimeFormatter SLOT_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter APPOINTMENT_INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Formats accepted for doctors.available_from / available_to
+    private static final List<DateTimeFormatter> AVAILABILITY_TIME_FORMATS = Arrays.asList(
+        DateTimeFormatter.ofPattern("H:mm[:ss]"),
+        new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("h:mm[ ]a").toFormatter(Locale.ENGLISH)
+    );
     
     @Autowired
     private PatientRepository patientRepository;
@@ -45,6 +83,30 @@ public class PatientServiceImpl implements PatientService {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private AppointmentCounterService appointmentCounterService;
+    
+    @Autowired
+    private DoctorSearchIndex doctorSearchIndex;
+
+    @Autowired
+    private DoctorSearchCache doctorSearchCache;
+
+    @Autowired
+    private DoctorDirectoryVersion doctorDirectoryVersion;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MediaAccess mediaAccess;
+
+    @Autowired
+    private ThumbnailGenerator thumbnailGenerator;
+    
+    @Autowired
+    private SlotOccupancyService slotOccupancyService;
 
     @Override
     public Map<String, Object> registerPatient(Patient patient) {
@@ -218,43 +280,18 @@ public class PatientServiceImpl implements PatientService {
     }
 
     @Override
-    public Map<String, Object> getProfile(Long patientId) {
+    public String getProfileETag(Long patientId) {
+        Patient patient = patientRepository.findById(patientId)
+            .orElseThrow(() -> new RuntimeException("Patient not found"));
+        return ConditionalGet.etag("patient", patient.getId(), patient.getUpdatedAt());
+    }
+
+    @Override
+    public PatientProfile getProfile(Long patientId) {
         Patient patient = patientRepository.findById(patientId)
             .orElseThrow(() -> new RuntimeException("Patient not found"));
         
-        Map<String, Object> profile = new HashMap<>();
-        profile.put("id", patient.getId());
-        profile.put("full_name", patient.getFullName());
-        profile.put("email", patient.getEmail());
-        profile.put("mobile", patient.getMobile());
-        profile.put("gender", patient.getGender());
-        profile.put("date_of_birth", patient.getDateOfBirth());
-        profile.put("blood_group", patient.getBloodGroup());
-        profile.put("address", patient.getAddress());
-        profile.put("city", patient.getCity());
-        profile.put("state", patient.getState());
-        profile.put("zip", patient.getZip());
-        profile.put("country", patient.getCountry());
-        profile.put("allergies", patient.getAllergies());
-        profile.put("conditions", patient.getConditions());
-        profile.put("medications", patient.getMedications());
-        profile.put("surgeries", patient.getSurgeries());
-        profile.put("emergency_contact_name", patient.getEmergencyContactName());
-        profile.put("emergency_contact_number", patient.getEmergencyContactNumber());
-        profile.put("document_path", patient.getDocumentPath());
-        profile.put("photo_path", patient.getPhotoPath());
-        profile.put("role", patient.getRole());
-        profile.put("is_active", patient.getIsActive());
-        profile.put("verified", patient.getVerified());
-        profile.put("created_at", patient.getCreatedAt());
-        profile.put("updated_at", patient.getUpdatedAt());
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("patient", profile);
-        response.put("email", patient.getEmail());
-        response.put("role", patient.getRole());
-        
-        return response;
+        return PatientProfile.from(patient);
     }
 
     @Override
@@ -268,7 +305,10 @@ public class PatientServiceImpl implements PatientService {
         if (updates.containsKey("dob")) patient.setDateOfBirth((String) updates.get("dob"));
         if (updates.containsKey("blood_group")) patient.setBloodGroup((String) updates.get("blood_group"));
         if (updates.containsKey("address")) patient.setAddress((String) updates.get("address"));
-        if (updates.containsKey("photo_path")) patient.setPhotoPath((String) updates.get("photo_path"));
+        if (updates.containsKey("photo_path")) {
+            patient.setPhotoPath(storeMedia(updates.get("photo_path"), patient.getPhotoPath(), patientId));
+            thumbnailGenerator.submit(patient.getPhotoPath());
+        }
         if (updates.containsKey("city")) patient.setCity((String) updates.get("city"));
         if (updates.containsKey("state")) patient.setState((String) updates.get("state"));
         if (updates.containsKey("zip")) patient.setZip((String) updates.get("zip"));
@@ -279,7 +319,7 @@ public class PatientServiceImpl implements PatientService {
         if (updates.containsKey("surgeries")) patient.setSurgeries((String) updates.get("surgeries"));
         if (updates.containsKey("emergency_contact_name")) patient.setEmergencyContactName((String) updates.get("emergency_contact_name"));
         if (updates.containsKey("emergency_contact_number")) patient.setEmergencyContactNumber((String) updates.get("emergency_contact_number"));
-        if (updates.containsKey("document_path")) patient.setDocumentPath((String) updates.get("document_path"));
+        if (updates.containsKey("document_path")) patient.setDocumentPath(storeMedia(updates.get("document_path"), patient.getDocumentPath(), patientId));
         
         patient.setUpdatedAt(LocalDateTime.now());
         patientRepository.save(patient);
@@ -290,60 +330,148 @@ public class PatientServiceImpl implements PatientService {
         return response;
     }
 
+    private String storeMedia(Object value, String current, Long patientId) {
+        try {
+            return mediaAccess.storeReference(value != null ? value.toString() : null, current, "PATIENT", patientId);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store media: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getDoctorDirectoryETag() {
+        // In memory; see DoctorDirectoryVersion for how changes on other instances reach it
+        return ConditionalGet.etag("doctors", doctorDirectoryVersion.getInstanceId(), doctorDirectoryVersion.current());
+    }
+
     @Override
-    public Map<String, Object> listDoctors(String specialty, String city, String search, Long doctorId, String patientAddress, String patientLocation, String patientCity) {
-        List<Doctor> doctors;
+    public DoctorListResponse listDoctors(String specialty, String city, String search, Long doctorId, List<Long> doctorIds, String patientAddress, String patientLocation, String patientCity) {
+        List<DoctorListing> formattedDoctors;
         
         if (doctorId != null) {
-            doctors = doctorRepository.findAll().stream()
-                .filter(d -> d.getId().equals(doctorId) && d.getApproved() && !d.getSuspended() && "ACTIVE".equals(d.getStatus()))
-                .collect(Collectors.toList());
+            formattedDoctors = formatDoctors(doctorRepository.findActiveDoctorById(doctorId)
+                .map(Collections::singletonList)
+                .orElse(Collections.emptyList()));
+        } else if (doctorIds != null && !doctorIds.isEmpty()) {
+            if (doctorIds.size() > MAX_DOCTOR_IDS) {
+                throw new InvalidRequestException("At most " + MAX_DOCTOR_IDS + " doctor ids can be requested at once");
+            }
+            // Single IN query; results are returned in the order the ids were requested
+            Map<Long, Integer> positions = new HashMap<>();
+            for (Long id : doctorIds) {
+                positions.putIfAbsent(id, positions.size());
+            }
+            List<DoctorListingRow> rows = new ArrayList<>(doctorRepository.findActiveListingRowsByIds(new ArrayList<>(positions.keySet())));
+            rows.sort(Comparator.comparingInt(row -> positions.get(row.getId())));
+            formattedDoctors = formatRows(rows);
         } else {
-            doctors = doctorRepository.findActiveDoctorsWithFilters(specialty, city, search, patientAddress, patientLocation, patientCity);
+            // Filtered listings are served from the result cache, which is cleared on every doctor change
+            formattedDoctors = doctorSearchCache.get(specialty, city, search, patientAddress, patientLocation, patientCity,
+                () -> searchActiveDoctors(specialty, city, search, patientAddress, patientLocation, patientCity));
         }
         
-        List<Map<String, Object>> formattedDoctors = new ArrayList<>();
-        
+        return new DoctorListResponse(formattedDoctors);
+    }
+
+    private List<DoctorListing> searchActiveDoctors(String specialty, String city, String search, String patientAddress, String patientLocation, String patientCity) {
+        if (doctorSearchIndex.isReady() && hasAnyValue(specialty, city, search, patientAddress, patientLocation, patientCity)) {
+            // Matching ids come from the in-memory index; rows are re-checked as active when loaded
+            return formatRows(loadActiveListingRows(doctorSearchIndex.search(specialty, city, search, patientAddress, patientLocation, patientCity)));
+        }
+        return formatDoctors(doctorRepository.findActiveDoctorsWithFilters(specialty, city, search, patientAddress, patientLocation, patientCity));
+    }
+
+    private List<DoctorListing> formatDoctors(List<Doctor> doctors) {
+        List<DoctorListing> formattedDoctors = new ArrayList<>(doctors.size());
         for (Doctor doctor : doctors) {
-            Map<String, Object> doctorData = new HashMap<>();
-            doctorData.put("id", doctor.getId());
-            doctorData.put("full_name", doctor.getFullName());
-            doctorData.put("email", doctor.getEmail());
-            doctorData.put("mobile", doctor.getMobile());
-            doctorData.put("specialty", doctor.getSpecialty());
-            doctorData.put("degree", doctor.getDegree());
-            doctorData.put("experience", doctor.getExperience());
-            doctorData.put("clinic_name", doctor.getClinicName());
-            doctorData.put("clinic_address", doctor.getClinicAddress());
-            doctorData.put("city", doctor.getCity());
-            doctorData.put("state", doctor.getState());
-            doctorData.put("available_days", doctor.getAvailableDays());
-            doctorData.put("available_from", doctor.getAvailableFrom());
-            doctorData.put("available_to", doctor.getAvailableTo());
-            doctorData.put("languages", doctor.getLanguages() != null ?
-                Arrays.asList(doctor.getLanguages().split(",")) : new ArrayList<>());
-            doctorData.put("profile_photo", doctor.getProfilePhoto());
-            doctorData.put("consultation_fee", doctor.getConsultationFee() != null ? doctor.getConsultationFee() : 0.0);
-
-            // Use rating from doctor entity instead of calculating from RatingRepository
-            doctorData.put("average_rating", doctor.getRating() != null ? doctor.getRating() : 0.0);
-
-            // Get total reviews count
-            Long totalReviews = ratingRepository.countByDoctorId(doctor.getId());
-            doctorData.put("total_reviews", totalReviews != null ? totalReviews : 0);
-            
-            formattedDoctors.add(doctorData);
+            formattedDoctors.add(DoctorListing.from(doctor, LISTING_THUMBNAIL_SIZE));
+        }
+        return formattedDoctors;
+    }
+
+    private List<DoctorListing> formatRows(List<DoctorListingRow> rows) {
+        List<DoctorListing> formattedDoctors = new ArrayList<>(rows.size());
+        for (DoctorListingRow row : rows) {
+            formattedDoctors.add(DoctorListing.from(row, LISTING_THUMBNAIL_SIZE));
+        }
+        return formattedDoctors;
+    }
+
+    @Override
+    public Map<String, Object> getAvailableSlots(Long doctorId, String date) {
+        Doctor doctor = doctorRepository.findActiveDoctorById(doctorId)
+            .orElseThrow(() -> new RuntimeException("Doctor not found or not available"));
+        
+        LocalDate day;
+        try {
+            day = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid date format. Use yyyy-MM-dd");
+        }
+        
+        LocalTime from = parseAvailabilityTime(doctor.getAvailableFrom());
+        LocalTime to = parseAvailabilityTime(doctor.getAvailableTo());
+        if (from == null) {
+            from = LocalTime.MIN;
+        }
+        if (to != null && !to.isAfter(from)) {
+            to = null;
+        }
+        
+        // One pass over the day's occupancy bitmap; slots that have already started today are dropped
+        LocalDateTime now = LocalDateTime.now();
+        List<String> slots = new ArrayList<>();
+        for (LocalTime slot : slotOccupancyService.findFreeSlots(doctorId, day, from, to)) {
+            if (day.atTime(slot).isAfter(now)) {
+                slots.add(slot.format(SLOT_TIME_FORMAT));
+            }
         }
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("doctors", formattedDoctors);
-        response.put("count", formattedDoctors.size());
+        response.put("doctor_id", doctorId);
+        response.put("date", day.toString());
+        response.put("slot_minutes", slotOccupancyService.getGranularityMinutes());
+        response.put("available_days", doctor.getAvailableDays());
+        response.put("available_slots", slots);
         
         return response;
     }
 
+    private static LocalTime parseAvailabilityTime(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        for (DateTimeFormatter format : AVAILABILITY_TIME_FORMATS) {
+            try {
+                return LocalTime.parse(value.trim(), format);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    private List<DoctorListingRow> loadActiveListingRows(List<Long> ids) {
+        List<DoctorListingRow> rows = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += ID_LOOKUP_CHUNK) {
+            rows.addAll(doctorRepository.findActiveListingRowsByIds(ids.subList(start, Math.min(ids.size(), start + ID_LOOKUP_CHUNK))));
+        }
+        rows.sort(Comparator.comparing(DoctorListingRow::getId));
+        return rows;
+    }
+
+    private static boolean hasAnyValue(String... values) {
+        for (String value : values) {
+            if (value != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
+    @Transactional
     public Map<String, Object> bookAppointment(Long patientId, AppointmentRequest request) {
         Doctor doctor = doctorRepository.findById(request.getDoctorId())
             .orElseThrow(() -> new RuntimeException("Doctor not found or not available"));
@@ -354,14 +482,17 @@ public class PatientServiceImpl implements PatientService {
         
         LocalDateTime appointmentDatetime = LocalDateTime.parse(
             request.getAppointmentDate() + " " + request.getAppointmentTime(),
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+            APPOINTMENT_INPUT_FORMAT
         );
         
-        Optional<Appointment> existingAppointment = appointmentRepository
-            .findByDoctorIdAndDatetimeNotCancelled(request.getDoctorId(), appointmentDatetime);
-        
-        if (existingAppointment.isPresent()) {
-            throw new RuntimeException("This time slot is already booked");
+        // The occupancy bitmap is a hint: a taken slot is confirmed against the database, and a free one is
+        // claimed by the insert below, which ux_appointments_doctor_active_slot guards
+        if (slotOccupancyService.isBooked(request.getDoctorId(), appointmentDatetime)) {
+            if (appointmentRepository.findByDoctorIdAndDatetimeNotCancelled(request.getDoctorId(), appointmentDatetime).isPresent()) {
+                throw new RuntimeException("This time slot is already booked");
+            }
+            // Stale bit, e.g. the slot was released on another instance
+            slotOccupancyService.invalidate(request.getDoctorId(), appointmentDatetime.toLocalDate());
         }
         
         Appointment appointment = new Appointment();
@@ -372,7 +503,15 @@ public class PatientServiceImpl implements PatientService {
         appointment.setStatus("PENDING");
         appointment.setCreatedAt(LocalDateTime.now());
         
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment;
+        try {
+            savedAppointment = appointmentRepository.save(appointment);
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race for the slot: ux_appointments_doctor_active_slot rejected the insert
+            throw new RuntimeException("This time slot is already booked");
+        }
+        appointmentCounterService.recordTransition(savedAppointment.getDoctorId(), null, "PENDING");
+        slotOccupancyService.recordBooked(savedAppointment.getDoctorId(), appointmentDatetime);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -403,19 +542,24 @@ public class PatientServiceImpl implements PatientService {
         try {
             LocalDateTime newDateTime = LocalDateTime.parse(
                 request.getAppointmentDate() + " " + request.getAppointmentTime(),
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+                APPOINTMENT_INPUT_FORMAT
             );
             
             if (newDateTime.isBefore(LocalDateTime.now())) {
                 throw new RuntimeException("New appointment time must be in the future");
             }
             
-            // Check for conflicts with other appointments at the same time (excluding current appointment)
-            Optional<Appointment> existingAppointment = appointmentRepository
-                .findByDoctorIdAndDatetimeNotCancelled(appointment.getDoctorId(), newDateTime);
-            
-            if (existingAppointment.isPresent() && !existingAppointment.get().getId().equals(appointmentId)) {
-                throw new RuntimeException("This time slot is already booked");
+            LocalDateTime previousDateTime = appointment.getAppointmentDatetime();
+            boolean timeChanged = !newDateTime.equals(previousDateTime);
+            // As in bookAppointment, a taken slot in the bitmap is confirmed against the database (excluding
+            // this appointment) and a free one is left to the unique slot index
+            if (timeChanged && slotOccupancyService.isBooked(appointment.getDoctorId(), newDateTime)) {
+                Optional<Appointment> existingAppointment = appointmentRepository
+                    .findByDoctorIdAndDatetimeNotCancelled(appointment.getDoctorId(), newDateTime);
+                if (existingAppointment.isPresent() && !existingAppointment.get().getId().equals(appointmentId)) {
+                    throw new RuntimeException("This time slot is already booked");
+                }
+                slotOccupancyService.invalidate(appointment.getDoctorId(), newDateTime.toLocalDate());
             }
             
             // Update the appointment
@@ -423,13 +567,21 @@ public class PatientServiceImpl implements PatientService {
             if (request.getReason() != null) {
                 appointment.setReason(request.getReason());
             }
-            appointmentRepository.save(appointment);
+            try {
+                appointmentRepository.saveAndFlush(appointment);
+            } catch (DataIntegrityViolationException e) {
+                throw new RuntimeException("This time slot is already booked");
+            }
+            if (timeChanged) {
+                slotOccupancyService.recordReleased(appointment.getDoctorId(), previousDateTime);
+                slotOccupancyService.recordBooked(appointment.getDoctorId(), newDateTime);
+            }
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Appointment updated successfully");
             response.put("appointment_id", appointment.getId());
-            response.put("new_datetime", newDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            response.put("new_datetime", newDateTime.format(DATETIME_FORMAT));
             
             return response;
         } catch (RuntimeException e) {
@@ -440,50 +592,36 @@ public class PatientServiceImpl implements PatientService {
     }
 
     @Override
-    public Map<String, Object> getAppointments(Long patientId) {
-        List<Appointment> appointments = appointmentRepository.findByPatientIdOrderByAppointmentDatetimeDesc(patientId);
-        
-        List<Map<String, Object>> appointmentList = new ArrayList<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-        
-        for (Appointment appointment : appointments) {
-            Doctor doctor = doctorRepository.findById(appointment.getDoctorId()).orElse(null);
-            
-            Map<String, Object> apptData = new HashMap<>();
-            apptData.put("id", appointment.getId());
-            apptData.put("appointment_datetime", appointment.getAppointmentDatetime().format(formatter));
-            apptData.put("appointment_date", appointment.getAppointmentDatetime().format(dateFormatter));
-            apptData.put("appointment_time", appointment.getAppointmentDatetime().format(timeFormatter));
-            apptData.put("reason", appointment.getReason());
-            apptData.put("status", appointment.getStatus());
-            apptData.put("created_at", appointment.getCreatedAt().format(formatter));
-            
-            if (doctor != null) {
-                apptData.put("doctor_name", doctor.getFullName());
-                apptData.put("specialty", doctor.getSpecialty());
-                apptData.put("clinic_name", doctor.getClinicName());
-                apptData.put("doctor_mobile", doctor.getMobile());
-                apptData.put("available_days", doctor.getAvailableDays());
-                apptData.put("available_from", doctor.getAvailableFrom());
-                apptData.put("available_to", doctor.getAvailableTo());
-            }
-            
-            Optional<Rating> rating = ratingRepository.findByAppointmentId(appointment.getId());
-            apptData.put("has_rating", rating.isPresent() ? 1 : 0);
-            
-            appointmentList.add(apptData);
+    public Map<String, Object> getAppointments(Long patientId, String status, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageCursor after = PageCursor.decodeWithTimestamp(cursor);
+        
+        // Fetch one extra row to learn whether another page exists
+        List<PatientAppointmentView> appointments = new ArrayList<>(appointmentRepository.findPatientAppointmentPage(
+            patientId,
+            status != null ? status.toUpperCase() : null,
+            after != null ? after.getTimestamp() : OPEN_CURSOR_DATETIME,
+            after != null ? after.getId() : Long.MAX_VALUE,
+            PageRequest.of(0, pageSize + 1)
+        ));
+        
+        String nextCursor = null;
+        if (appointments.size() > pageSize) {
+            appointments = appointments.subList(0, pageSize);
+            PatientAppointmentView last = appointments.get(pageSize - 1);
+            nextCursor = new PageCursor(last.getAppointmentDatetime(), last.getId()).encode();
         }
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("appointments", appointmentList);
+        response.put("appointments", appointments);
+        response.put("next_cursor", nextCursor);
         
         return response;
     }
 
     @Override
+    @Transactional
     public Map<String, Object> cancelAppointment(Long appointmentId, Long patientId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
@@ -496,8 +634,11 @@ public class PatientServiceImpl implements PatientService {
             throw new RuntimeException("Appointment is already cancelled");
         }
         
+        String previousStatus = appointment.getStatus();
         appointment.setStatus("CANCELLED");
         appointmentRepository.save(appointment);
+        appointmentCounterService.recordTransition(appointment.getDoctorId(), previousStatus, "CANCELLED");
+        slotOccupancyService.recordReleased(appointment.getDoctorId(), appointment.getAppointmentDatetime());
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -507,6 +648,7 @@ public class PatientServiceImpl implements PatientService {
     }
 
     @Override
+    @Transactional
     public Map<String, Object> rescheduleAppointment(Long appointmentId, Long patientId, AppointmentRequest request) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
@@ -522,7 +664,7 @@ public class PatientServiceImpl implements PatientService {
         try {
             LocalDateTime newDateTime = LocalDateTime.parse(
                 request.getNewDate() + " " + request.getNewTime() + ":00",
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+                DATETIME_FORMAT
             );
 
             if (newDateTime.isBefore(LocalDateTime.now())) {
@@ -538,20 +680,25 @@ public class PatientServiceImpl implements PatientService {
             newAppointment.setStatus("PENDING");
             newAppointment.setCreatedAt(LocalDateTime.now());
             appointmentRepository.save(newAppointment);
+            appointmentCounterService.recordTransition(newAppointment.getDoctorId(), null, "PENDING");
+            slotOccupancyService.recordBooked(newAppointment.getDoctorId(), newDateTime);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Appointment rescheduled successfully");
-            response.put("new_datetime", newDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            response.put("new_datetime", newDateTime.format(DATETIME_FORMAT));
             response.put("appointment_id", newAppointment.getId());
 
             return response;
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("This time slot is already booked");
         } catch (Exception e) {
             throw new RuntimeException("Invalid date or time format");
         }
     }
 
     @Override
+    @Transactional
     public Map<String, Object> rateAppointment(Long appointmentId, Long patientId, RatingRequest request) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
@@ -578,14 +725,9 @@ public class PatientServiceImpl implements PatientService {
         rating.setRating(request.getRating());
         rating.setComment(request.getReview());
         ratingRepository.save(rating);
-
-        // Recalculate and update the doctor's average rating
-        Long doctorId = appointment.getDoctorId();
-        Double averageRating = ratingRepository.getAverageRatingByDoctorId(doctorId);
-        Doctor doctor = doctorRepository.findById(doctorId)
-            .orElseThrow(() -> new RuntimeException("Doctor not found"));
-        doctor.setRating(averageRating != null ? averageRating : 0.0);
-        doctorRepository.save(doctor);
+        // Single atomic UPDATE of the doctor's running sum, count and derived average
+        doctorRepository.incrementRatingTotals(appointment.getDoctorId(), request.getRating().longValue(), LocalDateTime.now());
+        eventPublisher.publishEvent(DoctorChangedEvent.ratingsChanged(appointment.getDoctorId()));
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
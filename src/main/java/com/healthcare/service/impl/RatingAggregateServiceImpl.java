@@ -0,0 +1,64 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.event.DoctorChangedEvent;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.service.RatingAggregateService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the denormalized doctors.rating / review_count / rating_sum columns in line with the ratings table.
+ * rateAppointment updates them with one atomic increment; this job backfills them on startup and
+ * verifies them nightly, rewriting only the doctors whose aggregates have drifted. The doctors table is
+ * walked in id ranges of RECONCILE_CHUNK, each checked in its own short transaction, so the job never
+ * holds row locks across the whole table.
+ */
+@Service
+public class RatingAggregateServiceImpl implements RatingAggregateService {
+    private static final Logger log = LoggerFactory.getLogger(RatingAggregateServiceImpl.class);
+    private static final long RECONCILE_CHUNK = 1000;
+
+    private final DoctorRepository doctorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public RatingAggregateServiceImpl(DoctorRepository doctorRepository, ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager) {
+        this.doctorRepository = doctorRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.ratings.reconcile-cron:0 30 3 * * *}")
+    public void reconcileRatingTotals() {
+        Long maxId = doctorRepository.findMaxId();
+        int drifted = 0;
+        if (maxId != null) {
+            LocalDateTime now = LocalDateTime.now();
+            for (long fromId = 0; fromId <= maxId; fromId += RECONCILE_CHUNK) {
+                long chunkStart = fromId;
+                Integer updated = transactionTemplate.execute(status ->
+                    doctorRepository.recomputeRatingTotals(chunkStart, chunkStart + RECONCILE_CHUNK, now));
+                drifted += updated != null ? updated : 0;
+            }
+        }
+        if (drifted > 0) {
+            log.warn("Rating aggregates disagreed with the ratings table for {} doctors; recomputed", drifted);
+            eventPublisher.publishEvent(DoctorChangedEvent.ratingsChanged(null));
+        } else {
+            log.info("Rating aggregates verified against the ratings table");
+        }
+    }
+}
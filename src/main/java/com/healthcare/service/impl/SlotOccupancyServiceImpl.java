@@ -0,0 +1,216 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.service.SlotOccupancyService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-doctor, per-day occupancy bitmaps with one bit per slot of app.slots.granularity-minutes.
+ * A set bit means a non-cancelled appointment starts exactly at that slot; appointments off the slot
+ * grid are not represented, so the exact-time conflict semantics of the database check are preserved.
+ *
+ * A day is loaded lazily with one range query and reloaded once app.slots.ttl-seconds have passed, which
+ * bounds staleness from writes made by other instances. Local writes are applied after their transaction
+ * commits; loading and updating a day are serialized on that day, so an update that races a load is
+ * applied on top of it rather than lost.
+ */
+@Service
+public class SlotOccupancyServiceImpl implements SlotOccupancyService {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final AppointmentRepository appointmentRepository;
+    private final int granularityMinutes;
+    private final int slotsPerDay;
+    private final long ttlMillis;
+    private final Map<DayKey, DaySlots> days = new ConcurrentHashMap<>();
+
+    public SlotOccupancyServiceImpl(AppointmentRepository appointmentRepository,
+                                    @Value("${app.slots.granularity-minutes:15}") int granularityMinutes,
+                                    @Value("${app.slots.ttl-seconds:60}") long ttlSeconds) {
+        if (granularityMinutes <= 0 || MINUTES_PER_DAY % granularityMinutes != 0) {
+            throw new IllegalArgumentException("app.slots.granularity-minutes must divide 1440, got " + granularityMinutes);
+        }
+        this.appointmentRepository = appointmentRepository;
+        this.granularityMinutes = granularityMinutes;
+        this.slotsPerDay = MINUTES_PER_DAY / granularityMinutes;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @Override
+    public int getGranularityMinutes() {
+        return granularityMinutes;
+    }
+
+    @Override
+    public boolean isBooked(Long doctorId, LocalDateTime datetime) {
+        int slot = slotOf(datetime);
+        if (doctorId == null || slot < 0) {
+            return false;
+        }
+        return load(doctorId, datetime.toLocalDate()).isSet(slot);
+    }
+
+    @Override
+    public void recordBooked(Long doctorId, LocalDateTime datetime) {
+        afterCommit(() -> update(doctorId, datetime, true));
+    }
+
+    @Override
+    public void recordReleased(Long doctorId, LocalDateTime datetime) {
+        afterCommit(() -> update(doctorId, datetime, false));
+    }
+
+    @Override
+    public void invalidate(Long doctorId, LocalDate date) {
+        days.remove(new DayKey(doctorId, date));
+    }
+
+    @Override
+    public List<LocalTime> findFreeSlots(Long doctorId, LocalDate date, LocalTime from, LocalTime to) {
+        int first = (from.getHour() * 60 + from.getMinute() + granularityMinutes - 1) / granularityMinutes;
+        int end = to == null ? slotsPerDay : (to.getHour() * 60 + to.getMinute()) / granularityMinutes;
+        List<LocalTime> free = new ArrayList<>();
+        if (first >= end) {
+            return free;
+        }
+        long[] bits = load(doctorId, date).snapshot();
+        for (int slot = first; slot < end; slot++) {
+            if ((bits[slot >> 6] & (1L << slot)) == 0) {
+                free.add(LocalTime.MIN.plusMinutes((long) slot * granularityMinutes));
+            }
+        }
+        return free;
+    }
+
+    @Scheduled(fixedDelayString = "${app.slots.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        days.values().removeIf(day -> day.isExpired(now));
+    }
+
+    private void update(Long doctorId, LocalDateTime datetime, boolean booked) {
+        int slot = slotOf(datetime);
+        if (doctorId == null || slot < 0) {
+            return;
+        }
+        // A day that is not cached yet will be read from the database, which already has this write
+        DaySlots day = days.get(new DayKey(doctorId, datetime.toLocalDate()));
+        if (day != null) {
+            day.apply(slot, booked);
+        }
+    }
+
+    private DaySlots load(Long doctorId, LocalDate date) {
+        DaySlots day = days.computeIfAbsent(new DayKey(doctorId, date), key -> new DaySlots(slotsPerDay));
+        day.ensureLoaded(doctorId, date);
+        return day;
+    }
+
+    private int slotOf(LocalDateTime datetime) {
+        if (datetime == null || datetime.getSecond() != 0 || datetime.getNano() != 0) {
+            return -1;
+        }
+        int minuteOfDay = datetime.getHour() * 60 + datetime.getMinute();
+        return minuteOfDay % granularityMinutes == 0 ? minuteOfDay / granularityMinutes : -1;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private final class DaySlots {
+        private final long[] bits;
+        private long expiresAt;
+
+        DaySlots(int slots) {
+            this.bits = new long[(slots + 63) >> 6];
+        }
+
+        synchronized void ensureLoaded(Long doctorId, LocalDate date) {
+            long now = System.currentTimeMillis();
+            if (now < expiresAt) {
+                return;
+            }
+            Arrays.fill(bits, 0L);
+            LocalDateTime start = date.atStartOfDay();
+            for (LocalDateTime booked : appointmentRepository.findBookedDatetimes(doctorId, start, start.plusDays(1))) {
+                int slot = slotOf(booked);
+                if (slot >= 0) {
+                    bits[slot >> 6] |= 1L << slot;
+                }
+            }
+            expiresAt = now + ttlMillis;
+        }
+
+        synchronized boolean isSet(int slot) {
+            return (bits[slot >> 6] & (1L << slot)) != 0;
+        }
+
+        synchronized void apply(int slot, boolean booked) {
+            if (booked) {
+                bits[slot >> 6] |= 1L << slot;
+            } else {
+                bits[slot >> 6] &= ~(1L << slot);
+            }
+        }
+
+        synchronized long[] snapshot() {
+            return bits.clone();
+        }
+
+        synchronized boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private static final class DayKey {
+        private final Long doctorId;
+        private final LocalDate date;
+
+        DayKey(Long doctorId, LocalDate date) {
+            this.doctorId = doctorId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DayKey)) {
+                return false;
+            }
+            DayKey other = (DayKey) o;
+            return doctorId.equals(other.doctorId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(doctorId, date);
+        }
+    }
+}
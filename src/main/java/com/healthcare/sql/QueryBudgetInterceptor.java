@@ -0,0 +1,183 @@
+package com.healthcare.sql;
+
+import com.healthcare.metrics.RequestMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request SQL statement budget. Counts the statements each controller method executes (StatementCounter)
+ * and logs a warning when a request goes over its handler's budget or runs the same statement shape at
+ * least repeated-statement-threshold times, the signature of a per-row query loop (N+1). Totals per handler
+ * and the worst repeated shapes are kept for /api/admin/diagnostics/queries.
+ *
+ * Budgets default to app.query-budget.default; app.query-budget.endpoints overrides them per handler as a
+ * comma-separated list of Controller.method:budget entries.
+ */
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+    // Repeated shapes remembered per handler; later ones are still logged but not kept
+    private static final int MAX_SHAPES_PER_HANDLER = 50;
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final StatementCounter statementCounter;
+    private final boolean enabled;
+    private final int defaultBudget;
+    private final int repeatThreshold;
+    private final Map<String, Integer> endpointBudgets;
+    private final ConcurrentMap<String, HandlerStatistics> handlers = new ConcurrentHashMap<>();
+
+    public QueryBudgetInterceptor(StatementCounter statementCounter,
+                                  @Value("${app.query-budget.enabled:true}") boolean enabled,
+                                  @Value("${app.query-budget.default:20}") int defaultBudget,
+                                  @Value("${app.query-budget.repeated-statement-threshold:5}") int repeatThreshold,
+                                  @Value("${app.query-budget.endpoints:}") String[] endpointBudgets) {
+        this.statementCounter = statementCounter;
+        this.enabled = enabled;
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.endpointBudgets = parseBudgets(endpointBudgets);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (enabled) {
+            statementCounter.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        StatementCounter.RequestStatements statements = statementCounter.end();
+        if (statements == null) {
+            return;
+        }
+        String handlerName = RequestMetrics.handler(handler);
+        int budget = endpointBudgets.getOrDefault(handlerName, defaultBudget);
+
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.getShapes().entrySet().stream()
+            .filter(entry -> entry.getValue() >= repeatThreshold)
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+            .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+
+        boolean overBudget = statements.getTotal() > budget;
+        handlers.computeIfAbsent(handlerName, name -> new HandlerStatistics()).record(statements.getTotal(), overBudget, repeated);
+
+        if (overBudget || !repeated.isEmpty()) {
+            StringBuilder message = new StringBuilder()
+                .append(request.getMethod()).append(' ').append(request.getRequestURI())
+                .append(" (").append(handlerName).append(") executed ").append(statements.getTotal())
+                .append(" SQL statements, budget ").append(budget);
+            repeated.forEach((shape, count) -> message.append("; ").append(count).append("x ").append(abbreviate(shape)));
+            log.warn(message.toString());
+        }
+    }
+
+    /**
+     * Handlers ordered by the most statements a single request executed, worst first.
+     */
+    public List<Map<String, Object>> getTopOffenders(int limit) {
+        List<Map<String, Object>> offenders = new ArrayList<>();
+        handlers.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, HandlerStatistics> entry) -> entry.getValue().maxStatements.get()).reversed())
+            .limit(limit)
+            .forEach(entry -> offenders.add(entry.getValue().describe(entry.getKey(), endpointBudgets.getOrDefault(entry.getKey(), defaultBudget))));
+        return offenders;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    private static Map<String, Integer> parseBudgets(String[] entries) {
+        Map<String, Integer> budgets = new HashMap<>();
+        for (String entry : entries) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Query budget must be Controller.method:budget, got " + trimmed);
+            }
+            budgets.put(trimmed.substring(0, separator).trim(), Integer.parseInt(trimmed.substring(separator + 1).trim()));
+        }
+        return budgets;
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    private static final class HandlerStatistics {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final LongAdder overBudget = new LongAdder();
+        // Statement shape -> [requests that repeated it, most repetitions in one request]
+        private final ConcurrentMap<String, long[]> repeatedShapes = new ConcurrentHashMap<>();
+
+        void record(int total, boolean exceeded, Map<String, Integer> repeated) {
+            requests.increment();
+            statements.add(total);
+            maxStatements.accumulateAndGet(total, Math::max);
+            if (exceeded) {
+                overBudget.increment();
+            }
+            repeated.forEach((shape, count) -> {
+                if (repeatedShapes.size() >= MAX_SHAPES_PER_HANDLER && !repeatedShapes.containsKey(shape)) {
+                    return;
+                }
+                repeatedShapes.compute(shape, (key, counts) -> counts == null
+                    ? new long[] {1, count}
+                    : new long[] {counts[0] + 1, Math.max(counts[1], count)});
+            });
+        }
+
+        Map<String, Object> describe(String handler, int budget) {
+            long requestCount = requests.sum();
+            Map<String, Object> description = new HashMap<>();
+            description.put("handler", handler);
+            description.put("budget", budget);
+            description.put("requests", requestCount);
+            description.put("average_statements", requestCount > 0 ? (double) statements.sum() / requestCount : 0.0);
+            description.put("max_statements", maxStatements.get());
+            description.put("over_budget_requests", overBudget.sum());
+
+            List<Map<String, Object>> shapes = new ArrayList<>();
+            repeatedShapes.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed())
+                .forEach(entry -> {
+                    Map<String, Object> shape = new HashMap<>();
+                    shape.put("sql", entry.getKey());
+                    shape.put("requests", entry.getValue()[0]);
+                    shape.put("max_executions_per_request", entry.getValue()[1]);
+                    shapes.add(shape);
+                });
+            description.put("repeated_statements", shapes);
+            return description;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.healthcare.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which completed JDBC statements get logged and formats them: every statement that took at least
+ * the threshold, plus a random sample of the rest. An entry carries the statement shape, the number of bind
+ * parameters, the duration (execution plus row fetching), the row count and the application method that
+ * issued it. The logger is routed to an asynchronous appender in logback-spring.xml, so request threads
+ * only pay for the entries that are actually logged.
+ */
+public class SlowQueryLog {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final String APPLICATION_PACKAGE = "com.healthcare.";
+    private static final String SQL_PACKAGE = "com.healthcare.sql.";
+    // TracingAspect wraps every service and repository call, so it sits between the caller and the JDBC driver
+    private static final String TRACING_PACKAGE = "com.healthcare.tracing.";
+    private static final int MAX_SQL_LENGTH = 1000;
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+
+    public SlowQueryLog(long thresholdMillis, double sampleRate) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Called once per statement execution. rows is the number of rows read or updated, or -1 if unknown.
+     */
+    void completed(String sql, long nanos, long rows, int batchSize, boolean failed) {
+        boolean slow = nanos >= thresholdNanos;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        String shape = StatementCounter.shapeOf(sql);
+        StringBuilder entry = new StringBuilder(192)
+            .append(slow ? "slow" : "sampled")
+            .append(" duration_ms=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0))
+            .append(" rows=").append(rows)
+            .append(" params=").append(countParameters(sql));
+        if (batchSize > 0) {
+            entry.append(" batch=").append(batchSize);
+        }
+        if (failed) {
+            entry.append(" failed=true");
+        }
+        entry.append(" caller=").append(caller())
+            .append(" sql=").append(shape.length() <= MAX_SQL_LENGTH ? shape : shape.substring(0, MAX_SQL_LENGTH) + "...");
+        log.info(entry.toString());
+    }
+
+    // Placeholders outside string literals
+    private static int countParameters(String sql) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The innermost application frame outside this package and the tracing aspect: usually the service or custom repository
+     * method, as Spring Data repository interfaces only appear as proxies.
+     */
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                && !frame.getClassName().startsWith(SQL_PACKAGE)
+                && !frame.getClassName().startsWith(TRACING_PACKAGE)
+                && !frame.getClassName().contains("$$"))
+            .findFirst()
+            .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName())
+            .orElse("unknown"));
+    }
+}
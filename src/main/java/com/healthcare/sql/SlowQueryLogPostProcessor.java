@@ -0,0 +1,34 @@
+package com.healthcare.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a TimedDataSource when app.sql.slow-query-log.enabled is set, so
+ * every statement is timed for the SlowQueryLog. Configured from the Environment rather than injected beans,
+ * as post-processors are created before ordinary beans.
+ */
+@Component
+public class SlowQueryLogPostProcessor implements BeanPostProcessor, EnvironmentAware {
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || !environment.getProperty("app.sql.slow-query-log.enabled", Boolean.class, true)) {
+            return bean;
+        }
+        SlowQueryLog slowQueryLog = new SlowQueryLog(
+            environment.getProperty("app.sql.slow-query-log.threshold-ms", Long.class, 200L),
+            environment.getProperty("app.sql.slow-query-log.sample-rate", Double.class, 0.01));
+        return TimedDataSource.wrap((DataSource) bean, slowQueryLog);
+    }
+}
@@ -0,0 +1,86 @@
+package com.healthcare.sql;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between begin() and end(), grouped by
+ * statement shape. Registers itself as Hibernate's StatementInspector, so it sees every JPQL, criteria
+ * and native query and every entity load or flush, but not statements served from the second-level cache
+ * or issued on other threads.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<RequestStatements> current = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = current.get();
+        if (statements != null) {
+            statements.record(shapeOf(sql));
+        }
+        return sql;
+    }
+
+    public void begin() {
+        current.set(new RequestStatements());
+    }
+
+    /**
+     * Stops counting on this thread and returns what was counted since begin(), or null if counting was
+     * not started.
+     */
+    public RequestStatements end() {
+        RequestStatements statements = current.get();
+        current.remove();
+        return statements;
+    }
+
+    /**
+     * Reduces a statement to its shape: literals become ?, IN lists of any length become "in (?)" and
+     * whitespace is collapsed, so executions that differ only in their arguments compare equal.
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public static final class RequestStatements {
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int total;
+
+        private void record(String shape) {
+            shapes.merge(shape, 1, Integer::sum);
+            total++;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Executions per statement shape.
+         */
+        public Map<String, Integer> getShapes() {
+            return shapes;
+        }
+    }
+}
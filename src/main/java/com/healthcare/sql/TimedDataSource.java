@@ -0,0 +1,204 @@
+package com.healthcare.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+/**
+ * JDBC proxies that time every statement execution for the SlowQueryLog. Connections, statements and result
+ * sets handed out by the wrapped DataSource are dynamic proxies; a query is reported when its result set is
+ * closed (or its statement is closed or re-executed first), so its duration includes fetching the rows
+ * and its row count is the number of rows read. Updates and batches are reported when they return.
+ * unwrap() and isWrapperFor() reach the pool underneath, so pool metrics keep working.
+ */
+public final class TimedDataSource {
+
+    private TimedDataSource() {
+    }
+
+    public static DataSource wrap(DataSource dataSource, SlowQueryLog slowQueryLog) {
+        return proxy(DataSource.class, dataSource, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            if (result instanceof Connection) {
+                return connection((Connection) result, slowQueryLog);
+            }
+            return result;
+        });
+    }
+
+    private static Connection connection(Connection connection, SlowQueryLog slowQueryLog) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            String name = method.getName();
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, result, new StatementHandler((Statement) result, (String) args[0], slowQueryLog));
+            }
+            if (result instanceof PreparedStatement && name.equals("prepareStatement")) {
+                return proxy(PreparedStatement.class, result, new StatementHandler((Statement) result, (String) args[0], slowQueryLog));
+            }
+            if (result instanceof Statement && name.equals("createStatement")) {
+                return proxy(Statement.class, result, new StatementHandler((Statement) result, null, slowQueryLog));
+            }
+            return result;
+        });
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final SlowQueryLog slowQueryLog;
+        private String sql;
+        private int batchSize;
+        private ResultSetHandler openResultSet;
+
+        StatementHandler(Statement statement, String sql, SlowQueryLog slowQueryLog) {
+            this.statement = statement;
+            this.sql = sql;
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                finishResultSet();
+                return TimedDataSource.invoke(statement, method, args);
+            }
+            if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1) {
+                    // Statement.addBatch(String): report the last statement of the batch
+                    sql = (String) args[0];
+                }
+                return TimedDataSource.invoke(statement, method, args);
+            }
+            if (name.equals("clearBatch")) {
+                batchSize = 0;
+                return TimedDataSource.invoke(statement, method, args);
+            }
+            if (!name.startsWith("execute")) {
+                return TimedDataSource.invoke(statement, method, args);
+            }
+
+            finishResultSet();
+            String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = TimedDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                slowQueryLog.completed(executed, System.nanoTime() - start, -1, batchSize, true);
+                batchSize = 0;
+                throw e;
+            }
+            long nanos = System.nanoTime() - start;
+
+            if (result instanceof ResultSet) {
+                openResultSet = new ResultSetHandler((ResultSet) result, executed, nanos, slowQueryLog);
+                return proxy(ResultSet.class, result, openResultSet);
+            }
+            int batch = batchSize;
+            batchSize = 0;
+            slowQueryLog.completed(executed, nanos, rowCount(result), batch, false);
+            return result;
+        }
+
+        private void finishResultSet() {
+            if (openResultSet != null) {
+                openResultSet.finish();
+                openResultSet = null;
+            }
+        }
+
+        private long rowCount(Object result) throws Exception {
+            if (result instanceof Integer || result instanceof Long) {
+                return ((Number) result).longValue();
+            }
+            if (result instanceof int[]) {
+                long rows = 0;
+                for (int count : (int[]) result) {
+                    rows += Math.max(count, 0);
+                }
+                return rows;
+            }
+            if (result instanceof long[]) {
+                long rows = 0;
+                for (long count : (long[]) result) {
+                    rows += Math.max(count, 0);
+                }
+                return rows;
+            }
+            // execute(): an update count, or -1 if it produced a result set
+            return statement.getUpdateCount();
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final String sql;
+        private final SlowQueryLog slowQueryLog;
+        private long nanos;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet resultSet, String sql, long executeNanos, SlowQueryLog slowQueryLog) {
+            this.resultSet = resultSet;
+            this.sql = sql;
+            this.nanos = executeNanos;
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("next")) {
+                long start = System.nanoTime();
+                Object result = TimedDataSource.invoke(resultSet, method, args);
+                nanos += System.nanoTime() - start;
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                }
+                return result;
+            }
+            if (name.equals("close")) {
+                finish();
+            }
+            return TimedDataSource.invoke(resultSet, method, args);
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                slowQueryLog.completed(sql, nanos, rows, 0, false);
+            }
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Proxies compare and hash by identity, as the JDBC objects they stand for do
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getName().equals("equals") && method.getParameterCount() == 1 && method.getParameterTypes()[0] == Object.class) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            return handler.invoke(proxy, method, args);
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.healthcare.tracing;
+
+import java.util.List;
+
+/**
+ * A finished request trace: the request line, its status, when it started and how long it took, and its
+ * spans in start order. Immutable once published to the TraceBuffer.
+ */
+public final class Trace {
+    private final String name;
+    private final int status;
+    private final long startEpochMillis;
+    private final long durationNanos;
+    private final List<Span> spans;
+    private final int droppedSpans;
+
+    Trace(String name, int status, long startEpochMillis, long durationNanos, List<Span> spans, int droppedSpans) {
+        this.name = name;
+        this.status = status;
+        this.startEpochMillis = startEpochMillis;
+        this.durationNanos = durationNanos;
+        this.spans = spans;
+        this.droppedSpans = droppedSpans;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public List<Span> getSpans() {
+        return spans;
+    }
+
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    /**
+     * One timed section of a trace. depth is the nesting level (0 for spans directly under the request) and
+     * the offset is measured from the start of the trace.
+     */
+    public static final class Span {
+        private final String name;
+        private final int depth;
+        private final long offsetNanos;
+        private long durationNanos = -1;
+
+        Span(String name, int depth, long offsetNanos) {
+            this.name = name;
+            this.depth = depth;
+            this.offsetNanos = offsetNanos;
+        }
+
+        void end(long durationNanos) {
+            this.durationNanos = durationNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getOffsetNanos() {
+            return offsetNanos;
+        }
+
+        /**
+         * -1 if the span had not ended when the trace finished.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.healthcare.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent traces on this node. Writers claim a slot with one atomic increment
+ * and overwrite whatever was there, so recording never blocks or allocates beyond the trace itself;
+ * readers scan a snapshot of the slots.
+ */
+@Component
+public class TraceBuffer {
+    private final AtomicReferenceArray<Trace> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public TraceBuffer(@Value("${app.tracing.buffer-size:4096}") int size) {
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    void add(Trace trace) {
+        slots.set((int) (next.getAndIncrement() % slots.length()), trace);
+    }
+
+    /**
+     * The slowest traces that started at or after sinceEpochMillis, slowest first.
+     */
+    public List<Trace> slowest(int limit, long sinceEpochMillis) {
+        List<Trace> traces = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            Trace trace = slots.get(i);
+            if (trace != null && trace.getStartEpochMillis() >= sinceEpochMillis) {
+                traces.add(trace);
+            }
+        }
+        traces.sort(Comparator.comparingLong(Trace::getDurationNanos).reversed());
+        return traces.size() > limit ? traces.subList(0, limit) : traces;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long recorded() {
+        return next.get();
+    }
+}
@@ -0,0 +1,88 @@
+package com.healthcare.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thread-bound request tracing. TracingFilter starts a trace for each request and finishes it into the
+ * TraceBuffer; in between, span() opens nested spans on the same thread. Outside a trace (scheduled jobs,
+ * background threads) span() returns a no-op, so instrumented code needs no checks of its own.
+ */
+@Component
+public class Tracer {
+    private static final SpanScope NOOP = () -> { };
+
+    private final ThreadLocal<ActiveTrace> current = new ThreadLocal<>();
+    private final TraceBuffer traceBuffer;
+    private final boolean enabled;
+    private final int maxSpans;
+
+    public Tracer(TraceBuffer traceBuffer,
+                  @Value("${app.tracing.enabled:true}") boolean enabled,
+                  @Value("${app.tracing.max-spans:256}") int maxSpans) {
+        this.traceBuffer = traceBuffer;
+        this.enabled = enabled;
+        this.maxSpans = maxSpans;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    void start() {
+        current.set(new ActiveTrace(System.currentTimeMillis(), System.nanoTime()));
+    }
+
+    void finish(String name, int status) {
+        ActiveTrace trace = current.get();
+        current.remove();
+        if (trace != null) {
+            traceBuffer.add(new Trace(name, status, trace.startEpochMillis, System.nanoTime() - trace.startNanos,
+                Collections.unmodifiableList(trace.spans), trace.droppedSpans));
+        }
+    }
+
+    /**
+     * Opens a span that lasts until the returned scope is closed.
+     */
+    public SpanScope span(String name) {
+        ActiveTrace trace = current.get();
+        if (trace == null) {
+            return NOOP;
+        }
+        if (trace.spans.size() >= maxSpans) {
+            trace.droppedSpans++;
+            return NOOP;
+        }
+        long start = System.nanoTime();
+        Trace.Span span = new Trace.Span(name, trace.depth, start - trace.startNanos);
+        trace.spans.add(span);
+        trace.depth++;
+        return () -> {
+            span.end(System.nanoTime() - start);
+            trace.depth--;
+        };
+    }
+
+    public interface SpanScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class ActiveTrace {
+        private final long startEpochMillis;
+        private final long startNanos;
+        private final List<Trace.Span> spans = new ArrayList<>();
+        private int depth;
+        private int droppedSpans;
+
+        ActiveTrace(long startEpochMillis, long startNanos) {
+            this.startEpochMillis = startEpochMillis;
+            this.startNanos = startNanos;
+        }
+    }
+}
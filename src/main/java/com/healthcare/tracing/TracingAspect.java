@@ -0,0 +1,43 @@
+package com.healthcare.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spans around every service method, every repository call and the password encoder (BCrypt), named
+ * Type.method. Repositories are named after their application interface rather than the Spring Data
+ * implementation behind the proxy.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(* com.healthcare.service..*(..))"
+        + " || execution(* org.springframework.data.repository.Repository+.*(..))"
+        + " || execution(* org.springframework.security.crypto.password.PasswordEncoder+.*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (Tracer.SpanScope ignored = tracer.span(typeName(joinPoint) + "." + joinPoint.getSignature().getName())) {
+            return joinPoint.proceed();
+        }
+    }
+
+    private static String typeName(ProceedingJoinPoint joinPoint) {
+        Object proxy = joinPoint.getThis();
+        if (proxy instanceof Repository) {
+            for (Class<?> type : proxy.getClass().getInterfaces()) {
+                if (Repository.class.isAssignableFrom(type)) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,38 @@
+package com.healthcare.util;
+
+/**
+ * File formats of the admin bulk exports and imports.
+ */
+public enum BulkFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    BulkFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parses the format request parameter; defaults to NDJSON.
+     */
+    public static BulkFormat of(String format) {
+        if (format == null || format.isEmpty() || "ndjson".equalsIgnoreCase(format)) {
+            return NDJSON;
+        }
+        if ("csv".equalsIgnoreCase(format)) {
+            return CSV;
+        }
+        throw new RuntimeException("Invalid format. Use ndjson or csv");
+    }
+}
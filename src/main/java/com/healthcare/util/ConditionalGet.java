@@ -0,0 +1,53 @@
+package com.healthcare.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for endpoints whose representation has a cheap version. The ETag is compared with
+ * If-None-Match before the body is built, so an unchanged resource costs neither the query nor the
+ * serialization of the response.
+ */
+public final class ConditionalGet {
+    // Clients may keep the body but must revalidate it; replaces Spring Security's default no-store
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Joins the version parts into an ETag value; timestamps are written as epoch microseconds.
+     */
+    public static String etag(Object... versionParts) {
+        StringBuilder etag = new StringBuilder();
+        for (Object part : versionParts) {
+            if (etag.length() > 0) {
+                etag.append('-');
+            }
+            if (part instanceof LocalDateTime) {
+                LocalDateTime timestamp = (LocalDateTime) part;
+                etag.append(Long.toHexString(timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000));
+            } else {
+                etag.append(part);
+            }
+        }
+        return etag.toString();
+    }
+
+    /**
+     * Answers 304 Not Modified when the request's If-None-Match matches the ETag, otherwise 200 with
+     * the body from the supplier.
+     */
+    public static ResponseEntity<?> respond(WebRequest request, String etag, Supplier<?> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
+}
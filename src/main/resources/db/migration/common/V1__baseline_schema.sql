@@ -0,0 +1,169 @@
+-- Baseline schema, matching what hibernate ddl-auto=update used to create.
+-- Every statement is idempotent so the script also applies to databases that
+-- were created by Hibernate before migrations took over (baseline version 0).
+
+CREATE TABLE IF NOT EXISTS admin (
+    id BIGSERIAL NOT NULL,
+    created_at TIMESTAMP,
+    email VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255) NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    last_login TIMESTAMP,
+    mobile VARCHAR(255),
+    otp_expires_at TIMESTAMP,
+    password VARCHAR(255) NOT NULL,
+    profile_photo VARCHAR(255),
+    reset_otp VARCHAR(255),
+    role VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS appointments (
+    id BIGSERIAL NOT NULL,
+    appointment_datetime TIMESTAMP NOT NULL,
+    created_at TIMESTAMP,
+    doctor_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    reason VARCHAR(255),
+    status VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS doctor_appointment_counters (
+    doctor_id BIGINT NOT NULL,
+    cancelled BIGINT NOT NULL,
+    completed BIGINT NOT NULL,
+    confirmed BIGINT NOT NULL,
+    pending BIGINT NOT NULL,
+    total BIGINT NOT NULL,
+    updated_at TIMESTAMP,
+    PRIMARY KEY (doctor_id)
+);
+
+CREATE TABLE IF NOT EXISTS doctors (
+    id BIGSERIAL NOT NULL,
+    approved BOOLEAN NOT NULL,
+    available_days VARCHAR(255),
+    available_from VARCHAR(255),
+    available_to VARCHAR(255),
+    blood_group VARCHAR(255),
+    city VARCHAR(255),
+    clinic_address VARCHAR(1000),
+    clinic_name VARCHAR(255),
+    consultation_fee FLOAT8,
+    council VARCHAR(255),
+    created_at TIMESTAMP,
+    degree VARCHAR(255),
+    degree_cert_path VARCHAR(255),
+    dob VARCHAR(255),
+    documents VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    experience VARCHAR(255),
+    full_name VARCHAR(255) NOT NULL,
+    gender VARCHAR(255),
+    id_proof_path VARCHAR(255),
+    languages VARCHAR(255),
+    license_number VARCHAR(255),
+    license_path VARCHAR(255),
+    location VARCHAR(255),
+    mobile VARCHAR(255) NOT NULL,
+    otp_expires_at TIMESTAMP,
+    password VARCHAR(255) NOT NULL,
+    photo_path TEXT,
+    profile_photo TEXT,
+    rating FLOAT8,
+    rating_sum BIGINT,
+    registration_number VARCHAR(255),
+    reset_otp VARCHAR(255),
+    review_count BIGINT,
+    role VARCHAR(255) NOT NULL,
+    specialty VARCHAR(255),
+    state VARCHAR(255),
+    status VARCHAR(255),
+    suspended BOOLEAN NOT NULL,
+    updated_at TIMESTAMP,
+    zip_code VARCHAR(255),
+    PRIMARY KEY (id),
+    UNIQUE (email),
+    UNIQUE (registration_number)
+);
+
+-- Rating aggregates were added after the first schemas were generated
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS rating_sum BIGINT;
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS review_count BIGINT;
+
+CREATE TABLE IF NOT EXISTS otp_verification (
+    id BIGSERIAL NOT NULL,
+    created_at TIMESTAMP,
+    email VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    mobile VARCHAR(255) NOT NULL,
+    otp VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP,
+    user_type VARCHAR(255) NOT NULL,
+    verified BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS patient (
+    id BIGSERIAL NOT NULL,
+    address VARCHAR(255),
+    allergies VARCHAR(255),
+    blood_group VARCHAR(255),
+    city VARCHAR(255),
+    conditions VARCHAR(255),
+    country VARCHAR(255),
+    created_at TIMESTAMP,
+    date_of_birth VARCHAR(255),
+    document_path VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    emergency_contact_name VARCHAR(255),
+    emergency_contact_number VARCHAR(255),
+    full_name VARCHAR(255) NOT NULL,
+    gender VARCHAR(255),
+    is_active BOOLEAN NOT NULL,
+    medications VARCHAR(255),
+    mobile VARCHAR(255) NOT NULL,
+    otp_expires_at TIMESTAMP,
+    password VARCHAR(255) NOT NULL,
+    photo_path TEXT,
+    reset_otp VARCHAR(255),
+    role VARCHAR(255) NOT NULL,
+    state VARCHAR(255),
+    surgeries VARCHAR(255),
+    updated_at TIMESTAMP,
+    verified BOOLEAN NOT NULL,
+    zip VARCHAR(255),
+    PRIMARY KEY (id),
+    UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS ratings (
+    id BIGSERIAL NOT NULL,
+    appointment_id BIGINT NOT NULL,
+    comment VARCHAR(255),
+    created_at TIMESTAMP,
+    doctor_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    rating INTEGER,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGSERIAL NOT NULL,
+    address VARCHAR(255),
+    blood_group VARCHAR(255),
+    created_at TIMESTAMP,
+    date_of_birth DATE,
+    email VARCHAR(255) NOT NULL,
+    emergency_contact VARCHAR(255),
+    full_name VARCHAR(255) NOT NULL,
+    gender VARCHAR(255),
+    mobile VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP,
+    PRIMARY KEY (id),
+    UNIQUE (email)
+);
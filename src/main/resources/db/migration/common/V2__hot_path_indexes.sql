@@ -0,0 +1,19 @@
+-- Indexes for the lookups in AppointmentRepository, RatingRepository, OtpRepository and the
+-- mobile/created_at lookups of the account repositories. Trailing id columns let keyset pages
+-- (ORDER BY appointment_datetime, id) be read straight from the index.
+
+CREATE INDEX IF NOT EXISTS ix_appointments_doctor_datetime ON appointments (doctor_id, appointment_datetime, id);
+CREATE INDEX IF NOT EXISTS ix_appointments_patient_datetime ON appointments (patient_id, appointment_datetime, id);
+CREATE INDEX IF NOT EXISTS ix_appointments_doctor_created_at ON appointments (doctor_id, created_at);
+
+CREATE INDEX IF NOT EXISTS ix_ratings_doctor ON ratings (doctor_id);
+CREATE INDEX IF NOT EXISTS ix_ratings_appointment ON ratings (appointment_id);
+
+CREATE INDEX IF NOT EXISTS ix_otp_verification_identity ON otp_verification (email, mobile, user_type);
+CREATE INDEX IF NOT EXISTS ix_otp_verification_expires_at ON otp_verification (expires_at);
+
+CREATE INDEX IF NOT EXISTS ix_doctors_mobile ON doctors (mobile);
+CREATE INDEX IF NOT EXISTS ix_doctors_created_at ON doctors (created_at, id);
+CREATE INDEX IF NOT EXISTS ix_patient_mobile ON patient (mobile);
+CREATE INDEX IF NOT EXISTS ix_patient_created_at ON patient (created_at, id);
+CREATE INDEX IF NOT EXISTS ix_admin_mobile ON admin (mobile);
@@ -0,0 +1,3 @@
+-- Lets MAX(updated_at) for the doctor directory ETag be read from the end of an index.
+
+CREATE INDEX IF NOT EXISTS ix_doctors_updated_at ON doctors (updated_at);
@@ -0,0 +1,7 @@
+-- After V6 (InlineMediaMigration) these columns hold only MediaStore hashes (hex SHA-256);
+-- values V6 could not decode were moved to legacy_media_values.
+
+ALTER TABLE doctors ALTER COLUMN profile_photo SET DATA TYPE VARCHAR(64);
+ALTER TABLE doctors ALTER COLUMN photo_path SET DATA TYPE VARCHAR(64);
+ALTER TABLE patient ALTER COLUMN photo_path SET DATA TYPE VARCHAR(64);
+ALTER TABLE patient ALTER COLUMN document_path SET DATA TYPE VARCHAR(64);
@@ -0,0 +1,18 @@
+-- Who uploaded each blob, so a profile can only point at media its owner uploaded (see MediaAccess),
+-- and indexes for finding the profile that references a hash when deciding who may read it.
+
+CREATE TABLE IF NOT EXISTS media_uploads (
+    id BIGSERIAL NOT NULL,
+    hash VARCHAR(64) NOT NULL,
+    owner_role VARCHAR(16) NOT NULL,
+    owner_id BIGINT NOT NULL,
+    created_at TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_media_uploads_hash_owner ON media_uploads (hash, owner_role, owner_id);
+
+CREATE INDEX IF NOT EXISTS ix_doctors_profile_photo ON doctors (profile_photo);
+CREATE INDEX IF NOT EXISTS ix_doctors_photo_path ON doctors (photo_path);
+CREATE INDEX IF NOT EXISTS ix_patient_photo_path ON patient (photo_path);
+CREATE INDEX IF NOT EXISTS ix_patient_document_path ON patient (document_path);
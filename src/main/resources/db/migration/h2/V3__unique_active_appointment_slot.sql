@@ -0,0 +1,13 @@
+-- A doctor can have at most one non-cancelled appointment starting at a given time.
+-- H2 has no partial indexes, so the constraint is a unique index over a generated column that is
+-- NULL for cancelled appointments (NULLs never collide).
+-- Existing double bookings are left alone, as in the PostgreSQL variant: creating the index fails with a
+-- unique violation naming the (doctor_id, active_slot) values. Once all but one appointment per slot has been
+-- cancelled or rescheduled, run flyway repair (H2 does not roll back DDL, so the failed attempt is recorded)
+-- and migrate again.
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS active_slot TIMESTAMP
+    GENERATED ALWAYS AS (CASE WHEN status <> 'CANCELLED' THEN appointment_datetime END);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_appointments_doctor_active_slot
+    ON appointments (doctor_id, active_slot);
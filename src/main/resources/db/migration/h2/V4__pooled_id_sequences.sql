@@ -0,0 +1,9 @@
+-- Doctor and Patient ids are now allocated by Hibernate's pooled optimizer in blocks of 50.
+-- H2 identity columns have no named sequence, so dedicated ones are created. The pooled optimizer
+-- treats each value as the top of its block, hence the restart at MAX(id) + 50.
+
+CREATE SEQUENCE IF NOT EXISTS doctors_id_seq INCREMENT BY 50;
+ALTER SEQUENCE doctors_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM doctors);
+
+CREATE SEQUENCE IF NOT EXISTS patient_id_seq INCREMENT BY 50;
+ALTER SEQUENCE patient_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM patient);
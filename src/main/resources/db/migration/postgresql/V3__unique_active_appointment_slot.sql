@@ -0,0 +1,47 @@
+-- A doctor can have at most one non-cancelled appointment starting at a given time.
+-- Existing double bookings are not resolved here: which booking stands is for the clinic to decide, not a
+-- migration. If there are any, the migration fails and its error lists them (doctor, start time and
+-- appointment ids, the first 100 slots). Cancel or reschedule all but one appointment per slot, then restart
+-- the application to run V3 again. The full list:
+--
+--   SELECT doctor_id, appointment_datetime, string_agg(id::text, ', ' ORDER BY id) AS appointment_ids
+--   FROM appointments
+--   WHERE status <> 'CANCELLED'
+--   GROUP BY doctor_id, appointment_datetime
+--   HAVING COUNT(*) > 1;
+
+DO $$
+DECLARE
+    slot_count BIGINT;
+    slots TEXT;
+BEGIN
+    SELECT COUNT(*) INTO slot_count
+    FROM (
+        SELECT 1
+        FROM appointments
+        WHERE status <> 'CANCELLED'
+        GROUP BY doctor_id, appointment_datetime
+        HAVING COUNT(*) > 1
+    ) duplicates;
+
+    IF slot_count > 0 THEN
+        SELECT string_agg(slot, '; ') INTO slots
+        FROM (
+            SELECT format('doctor %s at %s: appointments %s', doctor_id, appointment_datetime,
+                          string_agg(id::text, ', ' ORDER BY id)) AS slot
+            FROM appointments
+            WHERE status <> 'CANCELLED'
+            GROUP BY doctor_id, appointment_datetime
+            HAVING COUNT(*) > 1
+            ORDER BY doctor_id, appointment_datetime
+            LIMIT 100
+        ) duplicates;
+
+        RAISE EXCEPTION 'V3: % slots have more than one non-cancelled appointment: %', slot_count, slots
+            USING HINT = 'Cancel or reschedule all but one appointment per doctor and start time, then restart to rerun the migration.';
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_appointments_doctor_active_slot
+    ON appointments (doctor_id, appointment_datetime)
+    WHERE status <> 'CANCELLED';
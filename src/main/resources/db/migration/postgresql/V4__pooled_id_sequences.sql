@@ -0,0 +1,6 @@
+-- Doctor and Patient ids are now allocated by Hibernate's pooled optimizer in blocks of 50
+-- (allocationSize on the entities), which needs the underlying sequences to step by the same amount.
+-- The next value handed out is the current value + 50, so ids continue above every existing row.
+
+ALTER SEQUENCE doctors_id_seq INCREMENT BY 50;
+ALTER SEQUENCE patient_id_seq INCREMENT BY 50;
@@ -0,0 +1,126 @@
+package com.healthcare.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pages through the admin patient listing sorted by created_at, with rows that share a timestamp and rows
+ * without one, and checks that every row is visited once in the documented order (NULLs after every
+ * timestamp). Malformed sort, order and cursor parameters are answered with 400.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminListingPageTest {
+    private static final LocalDateTime JOINED = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 9; i++) {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            Patient patient = new Patient();
+            patient.setFullName("Patient " + suffix);
+            patient.setEmail("patient-" + suffix + "@admin.test");
+            patient.setMobile("patient-" + suffix);
+            patient.setPassword("unused");
+            Long id = patientRepository.save(patient).getId();
+            // created_at is set on insert and not updatable through the entity
+            LocalDateTime createdAt = i % 3 == 0 ? null : JOINED.plusDays(i % 2);
+            jdbcTemplate.update("UPDATE patient SET created_at = ? WHERE id = ?",
+                createdAt != null ? Timestamp.valueOf(createdAt) : null, id);
+        }
+        token = "Bearer " + jwtUtil.generateToken("1", "ADMIN", "admin@admin.test");
+    }
+
+    @Test
+    void createdAtAscendingVisitsEveryPatientOnce() throws Exception {
+        assertEquals(expectedOrder(false), pageThrough("asc"));
+    }
+
+    @Test
+    void createdAtDescendingVisitsEveryPatientOnce() throws Exception {
+        assertEquals(expectedOrder(true), pageThrough("desc"));
+    }
+
+    @Test
+    void malformedParametersAreBadRequest() throws Exception {
+        mockMvc.perform(get("/api/admin/patients").param("sort", "email").header("Authorization", token))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/doctors").param("order", "sideways").header("Authorization", token))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/doctors").param("cursor", "%%%").header("Authorization", token))
+            .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> pageThrough(String order) throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/admin/patients")
+                .param("sort", "created_at")
+                .param("order", order)
+                .param("limit", "4")
+                .header("Authorization", token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+            page.get("patients").forEach(p -> seen.add(p.get("id").asLong()));
+            cursor = page.get("next_cursor").isNull() ? null : page.get("next_cursor").asText();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private List<Long> expectedOrder(boolean descending) {
+        List<Object[]> rows = jdbcTemplate.query("SELECT id, created_at FROM patient",
+            (rs, n) -> new Object[]{rs.getLong("id"), rs.getTimestamp("created_at")});
+        Comparator<Object[]> byCreatedAt = Comparator.comparing(row -> (Timestamp) row[1],
+            Comparator.nullsLast(Comparator.<Timestamp>naturalOrder()));
+        Comparator<Object[]> order = byCreatedAt.thenComparing(row -> (Long) row[0]);
+        rows.sort(descending ? order.reversed() : order);
+
+        List<Long> ids = new ArrayList<>();
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,145 @@
+package com.healthcare.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.dto.DoctorExportRow;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Admin bulk import and export: rows are validated one by one, imported doctors show up in both export
+ * formats without credentials, imported patients start unverified, gzip is honoured, and both endpoints
+ * are refused to non-admin callers.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkTransferTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private String adminToken;
+    private String patientToken;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        adminToken = "Bearer " + jwtUtil.generateToken("1", "ADMIN", "admin@bulk.test");
+        patientToken = "Bearer " + jwtUtil.generateToken("2", "PATIENT", "patient@bulk.test");
+        email = "doctor-" + UUID.randomUUID().toString().substring(0, 8) + "@bulk.test";
+    }
+
+    @Test
+    void importedDoctorsAreExportedWithoutCredentials() throws Exception {
+        String csv = "full_name,email,mobile,password,specialty\n"
+            + "Dr. Imported," + email + "," + mobile() + ",Secret@123,Cardiology\n"
+            + "Dr. Duplicate," + email + "," + mobile() + ",Secret@123,Cardiology\n"
+            + "Dr. Unreachable,not-an-email," + mobile() + ",Secret@123,Cardiology\n";
+        JsonNode report = objectMapper.readTree(mockMvc.perform(multipart("/api/admin/import/doctors")
+                .file(new MockMultipartFile("file", "doctors.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)))
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+        assertEquals(3, report.get("total_rows").asInt());
+        assertEquals(1, report.get("imported").asInt());
+        assertEquals(2, report.get("failed").asInt());
+
+        String exportedCsv = mockMvc.perform(get("/api/admin/export/doctors").param("format", "csv").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(exportedCsv.startsWith(String.join(",", DoctorExportRow.CSV_HEADER)));
+        assertTrue(exportedCsv.contains(email));
+
+        String ndjson = mockMvc.perform(get("/api/admin/export/doctors").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        boolean found = false;
+        for (String line : ndjson.split("\n")) {
+            JsonNode row = objectMapper.readTree(line);
+            assertFalse(row.has("password"));
+            found |= email.equals(row.get("email").asText());
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    void importedPatientsAreActiveButUnverified() throws Exception {
+        String patientEmail = "patient-" + UUID.randomUUID().toString().substring(0, 8) + "@bulk.test";
+        String csv = "full_name,email,mobile,password\n"
+            + "Imported Patient," + patientEmail + "," + mobile() + ",Secret@123\n";
+        mockMvc.perform(multipart("/api/admin/import/patients")
+                .file(new MockMultipartFile("file", "patients.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)))
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk());
+
+        Patient patient = patientRepository.findByEmail(patientEmail).orElseThrow();
+        assertTrue(patient.getIsActive());
+        assertFalse(patient.getVerified());
+    }
+
+    @Test
+    void exportIsGzippedWhenAccepted() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/admin/export/patients")
+                .header("Authorization", adminToken)
+                .header("Accept-Encoding", "gzip"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        // A well-formed gzip stream, even when there are no patients to export
+        gunzip(response.getContentAsByteArray());
+    }
+
+    @Test
+    void bulkEndpointsAreForAdminsOnly() throws Exception {
+        mockMvc.perform(get("/api/admin/export/doctors").header("Authorization", patientToken))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(multipart("/api/admin/import/patients")
+                .file(new MockMultipartFile("file", "patients.csv", "text/csv", new byte[0]))
+                .header("Authorization", patientToken))
+            .andExpect(status().isForbidden());
+    }
+
+    private static String mobile() {
+        return String.valueOf(ThreadLocalRandom.current().nextLong(6_000_000_000L, 9_999_999_999L));
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toByteArray();
+        }
+    }
+}
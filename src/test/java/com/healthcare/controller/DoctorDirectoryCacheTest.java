@@ -0,0 +1,114 @@
+package com.healthcare.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.model.Doctor;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.search.DoctorDirectoryVersion;
+import com.healthcare.service.AdminService;
+import com.healthcare.service.DoctorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The patient doctor directory behind its ETag and result cache: conditional GETs are answered with 304
+ * until a doctor changes, local changes show up in the very next listing, and changes made by another
+ * instance move the ETag once the periodic table check notices them.
+ */
+@SpringBootTest(properties = "app.search.directory-version-check-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DoctorDirectoryCacheTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private DoctorService doctorService;
+    @Autowired
+    private DoctorDirectoryVersion directoryVersion;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+    private Long doctorId;
+
+    @BeforeEach
+    void setUp() {
+        token = "cached" + UUID.randomUUID().toString().substring(0, 8);
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Dr. " + token);
+        doctor.setEmail(token + "@directory.test");
+        doctor.setMobile(token);
+        doctor.setPassword("unused");
+        doctor.setSpecialty("Cardiology");
+        doctorId = doctorRepository.save(doctor).getId();
+    }
+
+    @Test
+    void conditionalGetIsNotModifiedUntilADoctorChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/patient/doctors")).andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertEquals(304, mockMvc.perform(get("/api/patient/doctors").header("If-None-Match", etag))
+            .andReturn().getResponse().getStatus());
+
+        adminService.approveDoctor(doctorId);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/patient/doctors").header("If-None-Match", etag))
+            .andReturn().getResponse();
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader("ETag"));
+    }
+
+    @Test
+    void localChangesReachTheNextCachedSearch() throws Exception {
+        assertEquals(0, search().size());
+
+        adminService.approveDoctor(doctorId);
+        JsonNode doctors = search();
+        assertEquals(1, doctors.size());
+        assertEquals("Cardiology", doctors.get(0).get("specialty").asText());
+
+        doctorService.updateProfile(doctorId, Collections.singletonMap("specialty", "Neurology"));
+        assertEquals("Neurology", search().get(0).get("specialty").asText());
+    }
+
+    @Test
+    void changesMadeElsewhereMoveTheETag() throws Exception {
+        adminService.approveDoctor(doctorId);
+        String etag = mockMvc.perform(get("/api/patient/doctors")).andReturn().getResponse().getHeader("ETag");
+
+        jdbcTemplate.update("UPDATE doctors SET full_name = ?, updated_at = CURRENT_TIMESTAMP + INTERVAL '1' HOUR WHERE id = ?",
+            "Dr. " + token + " renamed", doctorId);
+        directoryVersion.checkForExternalChanges();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/patient/doctors").param("search", token).header("If-None-Match", etag))
+            .andReturn().getResponse();
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader("ETag"));
+    }
+
+    private JsonNode search() throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/patient/doctors").param("search", token))
+            .andReturn().getResponse().getContentAsString()).get("doctors");
+    }
+}
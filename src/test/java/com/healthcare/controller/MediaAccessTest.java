@@ -0,0 +1,166 @@
+package com.healthcare.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Who may read a blob: a patient document is refused to anonymous callers and to unrelated accounts, and
+ * served privately to its owner, their doctor and administrators. Doctor photos stay public. A profile
+ * cannot be pointed at a hash its owner did not upload.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MediaAccessTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private Patient patient;
+    private Patient otherPatient;
+    private Doctor doctor;
+    private Doctor otherDoctor;
+
+    @BeforeEach
+    void setUp() {
+        patient = savePatient();
+        otherPatient = savePatient();
+        doctor = saveDoctor();
+        otherDoctor = saveDoctor();
+
+        Appointment appointment = new Appointment();
+        appointment.setDoctorId(doctor.getId());
+        appointment.setPatientId(patient.getId());
+        appointment.setAppointmentDatetime(LocalDateTime.of(2033, 4, 4, 11, 0));
+        appointmentRepository.save(appointment);
+    }
+
+    @Test
+    void patientDocumentIsPrivate() throws Exception {
+        String hash = upload(token(patient));
+        mockMvc.perform(put("/api/patient/updateprofile").param("document_path", hash).header("Authorization", token(patient)))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/media/" + hash))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/media/" + hash).header("Authorization", token(otherPatient)))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/media/" + hash).header("Authorization", token(otherDoctor)))
+            .andExpect(status().isForbidden());
+
+        for (String token : new String[]{token(patient), token(doctor), "Bearer " + jwtUtil.generateToken("1", "ADMIN", "admin@media.test")}) {
+            mockMvc.perform(get("/api/media/" + hash).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "private, no-cache"));
+        }
+    }
+
+    @Test
+    void profileCannotReferenceSomeoneElsesUpload() throws Exception {
+        String hash = upload(token(patient));
+
+        mockMvc.perform(put("/api/patient/updateprofile").param("document_path", hash).header("Authorization", token(otherPatient)))
+            .andExpect(status().isBadRequest());
+        assertNull(patientRepository.findById(otherPatient.getId()).get().getDocumentPath());
+        mockMvc.perform(get("/api/media/" + hash).header("Authorization", token(otherPatient)))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void doctorPhotoIsPublic() throws Exception {
+        String photo = "data:image/png;base64," + Base64.getEncoder().encodeToString(randomBytes());
+        mockMvc.perform(put("/api/doctor/profile/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singletonMap("profile_photo", photo)))
+                .header("Authorization", token(doctor)))
+            .andExpect(status().isOk());
+        String hash = doctorRepository.findById(doctor.getId()).get().getProfilePhoto();
+
+        mockMvc.perform(get("/api/media/" + hash))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"));
+    }
+
+    private String upload(String token) throws Exception {
+        String body = mockMvc.perform(multipart("/api/media")
+                .file(new MockMultipartFile("file", "scan.pdf", "application/pdf", randomBytes()))
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String hash = objectMapper.readTree(body).get("hash").asText();
+        assertEquals(64, hash.length());
+        return hash;
+    }
+
+    private String token(Patient patient) {
+        return "Bearer " + jwtUtil.generateToken(patient.getId().toString(), "PATIENT", patient.getEmail());
+    }
+
+    private String token(Doctor doctor) {
+        return "Bearer " + jwtUtil.generateToken(doctor.getId().toString(), "DOCTOR", doctor.getEmail());
+    }
+
+    private Patient savePatient() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Patient patient = new Patient();
+        patient.setFullName("Patient " + suffix);
+        patient.setEmail("patient-" + suffix + "@media.test");
+        patient.setMobile("patient-" + suffix);
+        patient.setPassword("unused");
+        return patientRepository.save(patient);
+    }
+
+    private Doctor saveDoctor() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Dr. Media " + suffix);
+        doctor.setEmail("doctor-" + suffix + "@media.test");
+        doctor.setMobile("doctor-" + suffix);
+        doctor.setPassword("unused");
+        return doctorRepository.save(doctor);
+    }
+
+    private static byte[] randomBytes() {
+        byte[] data = new byte[256];
+        ThreadLocalRandom.current().nextBytes(data);
+        return data;
+    }
+}
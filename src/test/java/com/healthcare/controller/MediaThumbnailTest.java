@@ -0,0 +1,91 @@
+package com.healthcare.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.media.ThumbnailGenerator;
+import com.healthcare.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Thumbnail requests for blobs that cannot have thumbnails: documents are answered with 404 straight
+ * away, and an image ImageIO cannot decode is queued once and answered with 404 from then on.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MediaThumbnailTest {
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private ThumbnailGenerator thumbnailGenerator;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = "Bearer " + jwtUtil.generateToken("1", "ADMIN", "admin@thumbnail.test");
+    }
+
+    @Test
+    void documentHasNoThumbnail() throws Exception {
+        String hash = upload(withHeader("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII)));
+
+        mockMvc.perform(get("/api/media/" + hash).param("size", "64").header("Authorization", token))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/media/" + hash).header("Authorization", token))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void undecodableImageIsNotRequeued() throws Exception {
+        String hash = upload(withHeader(PNG_SIGNATURE));
+
+        // Not known yet: the original is served while generation is attempted
+        mockMvc.perform(get("/api/media/" + hash).param("size", "64").header("Authorization", token))
+            .andExpect(status().isOk());
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!thumbnailGenerator.isUnsupported(hash) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(thumbnailGenerator.isUnsupported(hash));
+
+        mockMvc.perform(get("/api/media/" + hash).param("size", "64").header("Authorization", token))
+            .andExpect(status().isNotFound());
+    }
+
+    private String upload(byte[] content) throws Exception {
+        String body = mockMvc.perform(multipart("/api/media")
+                .file(new MockMultipartFile("file", "upload", "application/octet-stream", content))
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("hash").asText();
+    }
+
+    private static byte[] withHeader(byte[] header) {
+        byte[] content = new byte[header.length + 256];
+        ThreadLocalRandom.current().nextBytes(content);
+        System.arraycopy(header, 0, content, 0, header.length);
+        return content;
+    }
+}
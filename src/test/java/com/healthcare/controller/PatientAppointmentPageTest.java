@@ -0,0 +1,131 @@
+package com.healthcare.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pages through GET /api/patient/appointments with the cursors it hands out, and checks that cursors the
+ * client tampered with are answered with 400 rather than 500.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PatientAppointmentPageTest {
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private String token;
+    private List<Long> appointmentIds;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Dr. Page " + suffix);
+        doctor.setEmail("doctor-" + suffix + "@page.test");
+        doctor.setMobile("doctor-" + suffix);
+        doctor.setPassword("unused");
+        doctor = doctorRepository.save(doctor);
+
+        Patient patient = new Patient();
+        patient.setFullName("Patient " + suffix);
+        patient.setEmail("patient-" + suffix + "@page.test");
+        patient.setMobile("patient-" + suffix);
+        patient.setPassword("unused");
+        patient = patientRepository.save(patient);
+
+        // Two appointments share each slot so that pages have to break ties on the id
+        appointmentIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setDoctorId(doctor.getId());
+            appointment.setPatientId(patient.getId());
+            appointment.setAppointmentDatetime(FIRST_SLOT.plusDays(i / 2));
+            appointment.setStatus(i % 2 == 0 ? "PENDING" : "CANCELLED");
+            appointmentIds.add(appointmentRepository.save(appointment).getId());
+        }
+        token = "Bearer " + jwtUtil.generateToken(patient.getId().toString(), "PATIENT", patient.getEmail());
+    }
+
+    @Test
+    void pagesVisitEveryAppointmentOnceNewestFirst() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = fetch(cursor, 3);
+            page.get("appointments").forEach(a -> seen.add(a.get("id").asLong()));
+            cursor = page.get("next_cursor").isNull() ? null : page.get("next_cursor").asText();
+        } while (cursor != null);
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = appointmentIds.size() - 1; i >= 0; i--) {
+            expected.add(appointmentIds.get(i));
+        }
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/patient/appointments").param("cursor", "not a cursor").header("Authorization", token))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cursorWithoutTimestampIsBadRequest() throws Exception {
+        String idOnly = Base64.getUrlEncoder().withoutPadding().encodeToString("|42".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(get("/api/patient/appointments").param("cursor", idOnly).header("Authorization", token))
+            .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode fetch(String cursor, int limit) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/patient/appointments")
+            .param("limit", String.valueOf(limit))
+            .header("Authorization", token);
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        MvcResult result = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,77 @@
+package com.healthcare.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.model.Doctor;
+import com.healthcare.repository.DoctorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/patient/doctors?ids=: doctors come back once each, in the order they were requested, and
+ * requests over the id limit are answered with 400.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PatientDoctorListTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Test
+    void doctorsAreReturnedInRequestedOrder() throws Exception {
+        Long first = saveDoctor();
+        Long second = saveDoctor();
+        Long third = saveDoctor();
+
+        MockHttpServletRequestBuilder request = get("/api/patient/doctors");
+        for (Long id : Arrays.asList(third, first, third, second)) {
+            request.param("ids", id.toString());
+        }
+        JsonNode body = objectMapper.readTree(mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+
+        List<Long> returned = new ArrayList<>();
+        body.get("doctors").forEach(d -> returned.add(d.get("id").asLong()));
+        assertEquals(Arrays.asList(third, first, second), returned);
+    }
+
+    @Test
+    void tooManyIdsIsBadRequest() throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/patient/doctors");
+        for (long id = 1; id <= 101; id++) {
+            request.param("ids", String.valueOf(id));
+        }
+        mockMvc.perform(request).andExpect(status().isBadRequest());
+    }
+
+    private Long saveDoctor() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Dr. Listed " + suffix);
+        doctor.setEmail("doctor-" + suffix + "@list.test");
+        doctor.setMobile("doctor-" + suffix);
+        doctor.setPassword("unused");
+        doctor.setApproved(true);
+        return doctorRepository.save(doctor).getId();
+    }
+}
@@ -0,0 +1,174 @@
+package com.healthcare.migration;
+
+import com.healthcare.media.InlineMediaMigration;
+import com.healthcare.media.MediaStore;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations on a fresh H2 database in PostgreSQL mode, with the locations the application
+ * uses for H2, and checks with EXPLAIN that the hot lookups are served by the indexes V2 and V3 create.
+ * The statements mirror the SQL Hibernate generates for the repository queries named in each test.
+ * The inline media migration (V6) is a Spring bean, so the test that covers it registers it by hand.
+ */
+class SchemaMigrationTest {
+    private static final String FAR_FUTURE = "TIMESTAMP '2100-01-01 00:00:00'";
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+            "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+            .target(target)
+            .load();
+    }
+
+    @Test
+    void doctorAppointmentPageUsesDoctorDatetimeIndex() {
+        flyway("latest").migrate();
+        // AppointmentRepository.findDoctorAppointmentPage
+        assertPlanUses("SELECT a.id, a.appointment_datetime, a.status, p.full_name FROM appointments a"
+            + " LEFT JOIN patient p ON p.id = a.patient_id"
+            + " WHERE a.doctor_id = 1 AND a.appointment_datetime >= TIMESTAMP '2000-01-01 00:00:00' AND a.appointment_datetime < " + FAR_FUTURE
+            + " AND (a.appointment_datetime < " + FAR_FUTURE + " OR (a.appointment_datetime = " + FAR_FUTURE + " AND a.id < 100))"
+            + " ORDER BY a.appointment_datetime DESC, a.id DESC LIMIT 20",
+            "ix_appointments_doctor_datetime");
+    }
+
+    @Test
+    void patientAppointmentPageUsesPatientDatetimeAndRatingIndexes() {
+        flyway("latest").migrate();
+        // AppointmentRepository.findPatientAppointmentPage, including its rating-exists subquery
+        String sql = "SELECT a.id, a.appointment_datetime, d.full_name,"
+            + " CASE WHEN EXISTS (SELECT r.id FROM ratings r WHERE r.appointment_id = a.id) THEN 1 ELSE 0 END"
+            + " FROM appointments a LEFT JOIN doctors d ON d.id = a.doctor_id"
+            + " WHERE a.patient_id = 1"
+            + " AND (a.appointment_datetime < " + FAR_FUTURE + " OR (a.appointment_datetime = " + FAR_FUTURE + " AND a.id < 100))"
+            + " ORDER BY a.appointment_datetime DESC, a.id DESC LIMIT 20";
+        assertPlanUses(sql, "ix_appointments_patient_datetime");
+        assertPlanUses(sql, "ix_ratings_appointment");
+    }
+
+    @Test
+    void bookingConflictCheckUsesAppointmentSlotIndex() {
+        flyway("latest").migrate();
+        // AppointmentRepository.findByDoctorIdAndDatetimeNotCancelled
+        assertPlanUsesAny("SELECT a.id FROM appointments a"
+            + " WHERE a.doctor_id = 1 AND a.appointment_datetime = TIMESTAMP '2030-01-01 10:00:00' AND a.status <> 'CANCELLED'",
+            "ix_appointments_doctor_datetime", "ux_appointments_doctor_active_slot");
+    }
+
+    @Test
+    void otpLookupUsesIdentityIndex() {
+        flyway("latest").migrate();
+        // OtpRepository.findByEmailAndMobileAndUserTypeAndVerifiedFalse
+        assertPlanUses("SELECT o.id FROM otp_verification o"
+            + " WHERE o.email = 'patient@example.com' AND o.mobile = '9000000000' AND o.user_type = 'PATIENT' AND o.verified = FALSE",
+            "ix_otp_verification_identity");
+    }
+
+    @Test
+    void ratingLookupsUseRatingIndexes() {
+        flyway("latest").migrate();
+        // RatingRepository.findByAppointmentId
+        assertPlanUses("SELECT r.id FROM ratings r WHERE r.appointment_id = 1", "ix_ratings_appointment");
+        // Per-doctor aggregates of DoctorRepository.recomputeRatingTotals
+        assertPlanUses("SELECT COUNT(r.id), SUM(r.rating) FROM ratings r WHERE r.doctor_id = 1", "ix_ratings_doctor");
+    }
+
+    @Test
+    void doctorMobileLookupUsesMobileIndex() {
+        flyway("latest").migrate();
+        assertPlanUses("SELECT d.id FROM doctors d WHERE d.mobile = '9000000000'", "ix_doctors_mobile");
+    }
+
+    @Test
+    void doubleBookingIsRejected() {
+        flyway("latest").migrate();
+        insertAppointment(1, "2030-01-01 10:00:00", "PENDING");
+        insertAppointment(1, "2030-01-01 10:00:00", "CANCELLED");
+        assertThrows(Exception.class, () -> insertAppointment(1, "2030-01-01 10:00:00", "CONFIRMED"));
+    }
+
+    @Test
+    void existingDoubleBookingsFailTheMigrationAndAreLeftAlone() {
+        flyway("2").migrate();
+        insertAppointment(1, "2030-01-01 10:00:00", "PENDING");
+        insertAppointment(1, "2030-01-01 10:00:00", "CONFIRMED");
+
+        assertThrows(FlywayException.class, () -> flyway("latest").migrate());
+        List<String> statuses = jdbcTemplate.queryForList("SELECT status FROM appointments ORDER BY id", String.class);
+        assertEquals(Arrays.asList("PENDING", "CONFIRMED"), statuses);
+
+        // Once the operator has resolved the slot, the migration goes through
+        jdbcTemplate.update("UPDATE appointments SET status = 'CANCELLED' WHERE status = 'CONFIRMED'");
+        flyway("latest").repair();
+        flyway("latest").migrate();
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'ux_appointments_doctor_active_slot'", Integer.class));
+    }
+
+    @Test
+    void inlineMediaWithoutDataIsKeptAside() throws Exception {
+        flyway("5").migrate();
+        String photo = "data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[]{1, 2, 3});
+        jdbcTemplate.update("INSERT INTO patient (id, email, full_name, is_active, mobile, password, role, verified, photo_path, document_path)"
+            + " VALUES (1, 'p@migration.test', 'Patient', TRUE, '9000000001', 'unused', 'PATIENT', FALSE, ?, 'scan-2019.pdf')", photo);
+
+        MediaStore mediaStore = new MediaStore("target/test-media", 1024);
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+            .javaMigrations(new InlineMediaMigration(mediaStore))
+            .load()
+            .migrate();
+
+        Map<String, Object> patient = jdbcTemplate.queryForMap("SELECT photo_path, document_path FROM patient WHERE id = 1");
+        assertTrue(mediaStore.find((String) patient.get("photo_path")).isPresent());
+        assertNull(patient.get("document_path"));
+        assertEquals("scan-2019.pdf", jdbcTemplate.queryForObject("SELECT original_value FROM legacy_media_values"
+            + " WHERE table_name = 'patient' AND column_name = 'document_path' AND row_id = 1", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM legacy_media_values", Integer.class));
+    }
+
+    private void insertAppointment(long doctorId, String datetime, String status) {
+        jdbcTemplate.update("INSERT INTO appointments (doctor_id, patient_id, appointment_datetime, status) VALUES (?, 1, TIMESTAMP '" + datetime + "', ?)",
+            doctorId, status);
+    }
+
+    private void assertPlanUses(String sql, String index) {
+        assertPlanUsesAny(sql, index);
+    }
+
+    private void assertPlanUsesAny(String sql, String... indexes) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase(Locale.ROOT);
+        assertTrue(Arrays.stream(indexes).anyMatch(plan::contains), "Expected one of " + Arrays.toString(indexes) + " in plan:\n" + plan);
+    }
+}
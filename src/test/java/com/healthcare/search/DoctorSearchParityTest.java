@@ -0,0 +1,89 @@
+package com.healthcare.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.dto.DoctorListing;
+import com.healthcare.model.Doctor;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Listings served through DoctorSearchIndex and the listing-row projection match, card for card, the
+ * listings built from the JPQL LIKE query over whole Doctor entities.
+ */
+@SpringBootTest(properties = "app.search.result-cache.enabled=false")
+@ActiveProfiles("test")
+class DoctorSearchParityTest {
+    private static final int THUMBNAIL_SIZE = 128;
+
+    @Autowired
+    private PatientService patientService;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private DoctorSearchIndex doctorSearchIndex;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = "parity" + UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < 12; i++) {
+            Doctor doctor = new Doctor();
+            doctor.setFullName("Dr. " + token + " " + i);
+            doctor.setEmail(token + "-" + i + "@parity.test");
+            doctor.setMobile(token + "-" + i);
+            doctor.setPassword("unused");
+            doctor.setSpecialty(i % 2 == 0 ? "Cardiology" : "Dermatology");
+            doctor.setCity(i % 3 == 0 ? "Mumbai" : "Pune");
+            doctor.setClinicAddress(i + " Main Road");
+            doctor.setLanguages("English,Hindi");
+            doctor.setConsultationFee(500.0 + i);
+            doctor.setProfilePhoto(i % 4 == 0 ? String.format("%064x", i + 1) : null);
+            // Unapproved and suspended doctors are indexed only to be filtered out when loaded
+            doctor.setApproved(i != 5);
+            doctor.setSuspended(i == 7);
+            doctorRepository.save(doctor);
+        }
+        doctorSearchIndex.reload();
+        assertTrue(doctorSearchIndex.isReady());
+    }
+
+    @Test
+    void nameSearchMatchesJpql() throws Exception {
+        assertParity(null, null, token);
+    }
+
+    @Test
+    void specialtyCityAndNameSearchMatchesJpql() throws Exception {
+        assertParity("cardio", "mumbai", token);
+    }
+
+    private void assertParity(String specialty, String city, String search) throws Exception {
+        List<DoctorListing> indexed = patientService.listDoctors(specialty, city, search, null, null, null, null, null).getDoctors();
+
+        List<Doctor> doctors = new ArrayList<>(doctorRepository.findActiveDoctorsWithFilters(specialty, city, search, null, null, null));
+        doctors.sort(Comparator.comparing(Doctor::getId));
+        List<DoctorListing> expected = new ArrayList<>();
+        for (Doctor doctor : doctors) {
+            expected.add(DoctorListing.from(doctor, THUMBNAIL_SIZE));
+        }
+
+        assertTrue(!expected.isEmpty());
+        assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(indexed));
+    }
+}
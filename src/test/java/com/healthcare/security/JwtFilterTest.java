@@ -0,0 +1,76 @@
+package com.healthcare.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Key;
+import java.util.Date;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requests to authenticated endpoints carry a verified, unexpired token; the role claim decides access to
+ * admin-only paths.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtFilterTest {
+    private static final String APPOINTMENTS = "/api/patient/appointments";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void validTokenIsAccepted() throws Exception {
+        mockMvc.perform(get(APPOINTMENTS).header("Authorization", "Bearer " + jwtUtil.generateToken("7", "PATIENT", "p@jwt.test")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void missingTokenIsUnauthorized() throws Exception {
+        mockMvc.perform(get(APPOINTMENTS)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void tamperedTokenIsUnauthorized() throws Exception {
+        String token = jwtUtil.generateToken("7", "PATIENT", "p@jwt.test");
+        // Claims of another user under the original signature
+        String[] parts = token.split("\\.");
+        String forged = jwtUtil.generateToken("8", "ADMIN", "p@jwt.test").split("\\.")[1];
+        mockMvc.perform(get(APPOINTMENTS).header("Authorization", "Bearer " + parts[0] + "." + forged + "." + parts[2]))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void expiredTokenIsUnauthorized() throws Exception {
+        Key key = (Key) ReflectionTestUtils.getField(jwtUtil, "signInKey");
+        String expired = Jwts.builder()
+            .setSubject("7")
+            .claim("role", "PATIENT")
+            .setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+            .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+            .signWith(key, SignatureAlgorithm.HS256)
+            .compact();
+        mockMvc.perform(get(APPOINTMENTS).header("Authorization", "Bearer " + expired))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void adminPathsNeedTheAdminRole() throws Exception {
+        mockMvc.perform(get("/api/admin/diagnostics/queries").header("Authorization", "Bearer " + jwtUtil.generateToken("7", "PATIENT", "p@jwt.test")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/diagnostics/queries").header("Authorization", "Bearer " + jwtUtil.generateToken("1", "ADMIN", "a@jwt.test")))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,134 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.DoctorAppointmentCounter;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorAppointmentCounterRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.service.AppointmentCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds a doctor's counter row while appointment transactions for the same doctor are in flight and
+ * checks that no transition is lost between the seeding read and its insert.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AppointmentCounterServiceImplTest {
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2031, 3, 3, 9, 0);
+
+    @Autowired
+    private AppointmentCounterService appointmentCounterService;
+    @Autowired
+    private DoctorAppointmentCounterRepository counterRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long doctorId;
+    private final AtomicInteger slot = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Dr. Counter " + suffix);
+        doctor.setEmail("doctor-" + suffix + "@counter.test");
+        doctor.setMobile("doctor-" + suffix);
+        doctor.setPassword("unused");
+        doctorId = doctorRepository.save(doctor).getId();
+    }
+
+    @Test
+    void readDuringUncommittedBookingWaitsForIt() throws Exception {
+        CountDownLatch booked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> booking = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                book();
+                booked.countDown();
+                await(commit);
+            }));
+            assertTrue(booked.await(10, TimeUnit.SECONDS));
+
+            Future<DoctorAppointmentCounter> read = executor.submit(() -> appointmentCounterService.getCounters(doctorId));
+            Thread.sleep(300);
+            commit.countDown();
+            booking.get(10, TimeUnit.SECONDS);
+
+            assertEquals(1L, read.get(10, TimeUnit.SECONDS).getTotal());
+            assertEquals(1L, counterRepository.findById(doctorId).get().getTotal());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentBookingsAndReadsMatchTheAggregate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                if (i % 4 == 0) {
+                    tasks.add(executor.submit(() -> appointmentCounterService.getCounters(doctorId)));
+                } else {
+                    tasks.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> book())));
+                }
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DoctorAppointmentCounter counter = appointmentCounterService.getCounters(doctorId);
+        assertEquals(30L, counter.getTotal());
+        assertEquals(30L, counter.getPending());
+    }
+
+    private void book() {
+        Appointment appointment = new Appointment();
+        appointment.setDoctorId(doctorId);
+        appointment.setPatientId(doctorId);
+        appointment.setAppointmentDatetime(FIRST_SLOT.plusMinutes(15L * slot.getAndIncrement()));
+        appointmentRepository.save(appointment);
+        appointmentCounterService.recordTransition(doctorId, null, "PENDING");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.model.Doctor;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.service.RatingAggregateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drifts the rating aggregates of doctors that fall into different id chunks and checks that one
+ * reconcile run rewrites all of them from the ratings table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RatingAggregateServiceImplTest {
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reconcileRewritesDriftedDoctorsInEveryChunk() {
+        long first = saveDoctor();
+        // Far enough ahead of the doctor sequence that no other test reaches it
+        long second = first + 2500;
+        insertDoctor(second);
+        drift(first);
+        rate(first, 4, 5);
+        rate(second, 2);
+
+        ratingAggregateService.reconcileRatingTotals();
+
+        assertAggregates(first, 2, 9, 4.5);
+        assertAggregates(second, 1, 2, 2.0);
+    }
+
+    private long saveDoctor() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Dr. Ratings " + suffix);
+        doctor.setEmail("doctor-" + suffix + "@ratings.test");
+        doctor.setMobile("doctor-" + suffix);
+        doctor.setPassword("unused");
+        return doctorRepository.save(doctor).getId();
+    }
+
+    private void drift(long id) {
+        jdbcTemplate.update("UPDATE doctors SET rating = 1.0, review_count = 7, rating_sum = 7 WHERE id = ?", id);
+    }
+
+    private void insertDoctor(long id) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO doctors (id, approved, email, full_name, mobile, password, role, suspended,"
+                + " rating, review_count, rating_sum) VALUES (?, TRUE, ?, ?, ?, 'unused', 'DOCTOR', FALSE, 1.0, 7, 7)",
+            id, "doctor-" + suffix + "@ratings.test", "Dr. Ratings " + suffix, "doctor-" + suffix);
+    }
+
+    private void rate(long doctorId, int... ratings) {
+        for (int rating : ratings) {
+            jdbcTemplate.update("INSERT INTO ratings (doctor_id, patient_id, appointment_id, rating) VALUES (?, ?, ?, ?)",
+                doctorId, doctorId, doctorId * 10 + rating, rating);
+        }
+    }
+
+    private void assertAggregates(long doctorId, long reviewCount, long ratingSum, double rating) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+            "SELECT review_count, rating_sum, rating FROM doctors WHERE id = ?", doctorId);
+        assertEquals(reviewCount, ((Number) row.get("review_count")).longValue());
+        assertEquals(ratingSum, ((Number) row.get("rating_sum")).longValue());
+        assertEquals(rating, ((Number) row.get("rating")).doubleValue(), 0.0001);
+    }
+}
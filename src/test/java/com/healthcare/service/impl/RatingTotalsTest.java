@@ -0,0 +1,82 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.dto.RatingRequest;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ratings move the rated doctor's running totals and average, and evict only that doctor from the
+ * second-level cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RatingTotalsTest {
+    @Autowired
+    private PatientService patientService;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void ratingUpdatesTotalsAndEvictsOnlyTheRatedDoctor() {
+        Long rated = saveDoctor();
+        Long other = saveDoctor();
+        long patientId = 424242L;
+        // Loading caches both doctors
+        doctorRepository.findById(rated);
+        doctorRepository.findById(other);
+        assertTrue(entityManagerFactory.getCache().contains(Doctor.class, other));
+
+        rate(patientId, rated, 4);
+        rate(patientId, rated, 5);
+
+        assertFalse(entityManagerFactory.getCache().contains(Doctor.class, rated));
+        assertTrue(entityManagerFactory.getCache().contains(Doctor.class, other));
+        Doctor doctor = doctorRepository.findById(rated).get();
+        assertEquals(2L, doctor.getReviewCount());
+        assertEquals(9L, doctor.getRatingSum());
+        assertEquals(4.5, doctor.getRating(), 0.0001);
+    }
+
+    private void rate(long patientId, Long doctorId, int stars) {
+        Appointment appointment = new Appointment();
+        appointment.setDoctorId(doctorId);
+        appointment.setPatientId(patientId);
+        appointment.setAppointmentDatetime(LocalDateTime.of(2029, 6, 1, 9, 0).plusDays(stars));
+        appointment.setStatus("COMPLETED");
+        Long appointmentId = appointmentRepository.save(appointment).getId();
+
+        RatingRequest request = new RatingRequest();
+        request.setRating(stars);
+        patientService.rateAppointment(appointmentId, patientId, request);
+    }
+
+    private Long saveDoctor() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Dr. Rated " + suffix);
+        doctor.setEmail("doctor-" + suffix + "@rating.test");
+        doctor.setMobile("doctor-" + suffix);
+        doctor.setPassword("unused");
+        doctor.setApproved(true);
+        return doctorRepository.save(doctor).getId();
+    }
+}
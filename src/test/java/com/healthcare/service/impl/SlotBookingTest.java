@@ -0,0 +1,105 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.dto.AppointmentRequest;
+import com.healthcare.model.Doctor;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.service.PatientService;
+import com.healthcare.service.SlotOccupancyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Booking against the slot occupancy bitmap: a set bit is confirmed against the database, a stale bit does
+ * not turn a free slot away, and a slot taken behind the bitmap's back is still refused by the unique index.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotBookingTest {
+    private static final LocalDateTime SLOT = LocalDateTime.of(2032, 2, 9, 10, 30);
+    private static final String ALREADY_BOOKED = "This time slot is already booked";
+
+    @Autowired
+    private PatientService patientService;
+    @Autowired
+    private SlotOccupancyService slotOccupancyService;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long doctorId;
+    private final Long patientId = 515151L;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Dr. Slots " + suffix);
+        doctor.setEmail("doctor-" + suffix + "@slots.test");
+        doctor.setMobile("doctor-" + suffix);
+        doctor.setPassword("unused");
+        doctor.setApproved(true);
+        doctorId = doctorRepository.save(doctor).getId();
+    }
+
+    @Test
+    void bookedSlotIsRefused() {
+        book();
+        assertTrue(slotOccupancyService.isBooked(doctorId, SLOT));
+
+        RuntimeException e = assertThrows(RuntimeException.class, this::book);
+        assertEquals(ALREADY_BOOKED, e.getMessage());
+    }
+
+    @Test
+    void releasedSlotCanBeBookedAgain() {
+        Long appointmentId = book();
+        patientService.cancelAppointment(appointmentId, patientId);
+        assertFalse(slotOccupancyService.isBooked(doctorId, SLOT));
+
+        book();
+    }
+
+    @Test
+    void staleBitDoesNotRefuseAFreeSlot() {
+        Long appointmentId = book();
+        // Cancelled without going through this instance, so the bit stays set
+        jdbcTemplate.update("UPDATE appointments SET status = 'CANCELLED' WHERE id = ?", appointmentId);
+        assertTrue(slotOccupancyService.isBooked(doctorId, SLOT));
+
+        book();
+        assertTrue(slotOccupancyService.isBooked(doctorId, SLOT));
+    }
+
+    @Test
+    void slotTakenBehindTheBitmapIsRefusedByTheUniqueIndex() {
+        assertFalse(slotOccupancyService.isBooked(doctorId, SLOT));
+        jdbcTemplate.update("INSERT INTO appointments (doctor_id, patient_id, appointment_datetime, status) VALUES (?, ?, ?, 'PENDING')",
+            doctorId, patientId + 1, Timestamp.valueOf(SLOT));
+        assertFalse(slotOccupancyService.isBooked(doctorId, SLOT));
+
+        RuntimeException e = assertThrows(RuntimeException.class, this::book);
+        assertEquals(ALREADY_BOOKED, e.getMessage());
+    }
+
+    private Long book() {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setDoctorId(doctorId);
+        request.setAppointmentDate(SLOT.toLocalDate().toString());
+        request.setAppointmentTime(SLOT.toLocalTime().toString());
+        return (Long) patientService.bookAppointment(patientId, request).get("appointment_id");
+    }
+}